@@ -0,0 +1,63 @@
+package com.sasmitha.lms.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sasmitha.lms.client.AIResponseReader;
+import com.sasmitha.lms.dto.RecommendationPayload;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading an AI service response body and writing it back out, as a cache miss does: the old
+ * {@code Map.class} round trip against {@link AIResponseReader} in typed and passthrough mode.
+ * Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIResponseParsingBenchmark {
+    @Param({"5", "15"})
+    private int places;
+
+    private ObjectMapper objectMapper;
+    private AIResponseReader typedReader;
+    private AIResponseReader passthroughReader;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        typedReader = new AIResponseReader(objectMapper, false);
+        passthroughReader = new AIResponseReader(objectMapper, true);
+        body = objectMapper.writeValueAsBytes(Fixtures.recommendations(places));
+    }
+
+    @Benchmark
+    public byte[] map() throws IOException {
+        Map<?, ?> recommendations = objectMapper.readValue(new ByteArrayInputStream(body), Map.class);
+        return objectMapper.writeValueAsBytes(recommendations);
+    }
+
+    @Benchmark
+    public byte[] typed() throws IOException {
+        RecommendationPayload recommendations = typedReader.read(new ByteArrayInputStream(body));
+        return objectMapper.writeValueAsBytes(recommendations);
+    }
+
+    @Benchmark
+    public byte[] passthrough() throws IOException {
+        RecommendationPayload recommendations = passthroughReader.read(new ByteArrayInputStream(body));
+        return objectMapper.writeValueAsBytes(recommendations);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sasmitha.lms.benchmarks;
+
+import com.sasmitha.lms.config.JWTAuthenticationFilter;
+import com.sasmitha.lms.config.TokenDenylist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One request through {@link JWTAuthenticationFilter}: header parsing, token verification, the
+ * revocation check and populating the security context. A fresh request is built per call because
+ * the filter marks requests it has already seen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthFilterBenchmark {
+    @Param({"0", "10000"})
+    private int cacheMaxSize;
+
+    @Param({"0", "100000"})
+    private int revokedTokens;
+
+    private JWTAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        var jwtUtil = Fixtures.jwtUtil(cacheMaxSize);
+        TokenDenylist tokenDenylist = new TokenDenylist(100_000, 0.001);
+        long expiresAt = System.currentTimeMillis() + Fixtures.JWT_EXPIRATION_MS;
+        for (int i = 0; i < revokedTokens; i++) {
+            tokenDenylist.revoke(UUID.randomUUID().toString(), expiresAt);
+        }
+        filter = new JWTAuthenticationFilter(jwtUtil, new SimpleMeterRegistry(), tokenDenylist);
+        authorization = "Bearer " + jwtUtil.generateToken(Fixtures.EMAIL, Fixtures.ROLE);
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Authentication authenticated() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/preferences/user/1");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication anonymous() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/preferences/user/1");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,42 @@
+package com.sasmitha.lms.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt encode and verify at several cost factors, to size {@code security.bcrypt.strength}
+ * against the login thread pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+    private static final String PASSWORD = "correct-horse-battery-staple";
+
+    @Param({"4", "8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
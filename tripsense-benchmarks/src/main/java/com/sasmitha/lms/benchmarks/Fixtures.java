@@ -0,0 +1,69 @@
+package com.sasmitha.lms.benchmarks;
+
+import com.sasmitha.lms.config.JWTUtil;
+import com.sasmitha.lms.dto.AIRecommendation;
+import com.sasmitha.lms.dto.AIRecommendationSummary;
+import com.sasmitha.lms.dto.AIRecommendations;
+import com.sasmitha.lms.model.Preference;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sample data shared by the benchmarks, shaped like what the service handles in production.
+ */
+final class Fixtures {
+    static final String JWT_SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+    static final long JWT_EXPIRATION_MS = 3_600_000;
+    static final String EMAIL = "traveller@tripsense.lk";
+    static final String ROLE = "USER";
+
+    private static final List<String> CATEGORIES = List.of("Adventure", "Beach", "Cultural", "Leisure", "Nature", "Romantic", "Wildlife", "Historical");
+    private static final List<String> LOCATIONS = List.of("Kandy", "Galle", "Ella", "Sigiriya", "Mirissa", "Nuwara Eliya", "Trincomalee", "Anuradhapura");
+
+    private Fixtures() {
+    }
+
+    static JWTUtil jwtUtil(int cacheMaxSize) {
+        return new JWTUtil(JWT_SECRET, JWT_EXPIRATION_MS, cacheMaxSize);
+    }
+
+    static List<Preference> preferences(int count) {
+        List<Preference> preferences = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 9, 30);
+        for (int i = 0; i < count; i++) {
+            Preference preference = new Preference();
+            preference.setId((long) i + 1);
+            preference.setCategories(List.of(CATEGORIES.get(i % CATEGORIES.size()), CATEGORIES.get((i + 3) % CATEGORIES.size())));
+            preference.setLocations(List.of(LOCATIONS.get(i % LOCATIONS.size()), LOCATIONS.get((i + 5) % LOCATIONS.size())));
+            preference.setStartDate(LocalDate.of(2025, 7, 1).plusDays(i));
+            preference.setEndDate(LocalDate.of(2025, 7, 5).plusDays(i));
+            preference.setMaxDistanceKm(50 + i);
+            preference.setMaxBudget(250.0 + i * 10);
+            preference.setCreateAt(now.minusHours(i));
+            preference.setUpdateAt(now.minusHours(i));
+            preferences.add(preference);
+        }
+        return preferences;
+    }
+
+    /**
+     * A recommendation payload in the shape returned by the AI service.
+     */
+    static AIRecommendations recommendations(int places) {
+        List<AIRecommendation> items = new ArrayList<>(places);
+        for (int i = 0; i < places; i++) {
+            items.add(new AIRecommendation(
+                    CATEGORIES.get(i % CATEGORIES.size()) + " in " + LOCATIONS.get(i % LOCATIONS.size()) + " " + i,
+                    LOCATIONS.get(i % LOCATIONS.size()),
+                    CATEGORIES.get(i % CATEGORIES.size()),
+                    40.0 + i * 5,
+                    12.5 + i,
+                    2.0 + i % 5,
+                    0.95 - i * 0.01));
+        }
+        return new AIRecommendations(items, new AIRecommendationSummary(places, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 5)));
+    }
+}
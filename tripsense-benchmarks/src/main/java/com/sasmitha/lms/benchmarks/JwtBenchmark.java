@@ -0,0 +1,66 @@
+package com.sasmitha.lms.benchmarks;
+
+import com.sasmitha.lms.config.JWTPrincipal;
+import com.sasmitha.lms.config.JWTUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. {@code cacheMaxSize = 0} disables the verified-token cache so every
+ * call pays for the HMAC check; {@link #legacyTripleParse} is the old path that rebuilt the key and
+ * parsed the token once each for validate, email and role.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    @Param({"0", "10000"})
+    private int cacheMaxSize;
+
+    private JWTUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = Fixtures.jwtUtil(cacheMaxSize);
+        token = jwtUtil.generateToken(Fixtures.EMAIL, Fixtures.ROLE);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(Fixtures.EMAIL, Fixtures.ROLE);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public JWTPrincipal parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public void legacyTripleParse(Blackhole blackhole) {
+        blackhole.consume(legacyClaims().getExpiration());
+        blackhole.consume(legacyClaims().getSubject());
+        blackhole.consume(legacyClaims().get("role"));
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Fixtures.JWT_SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
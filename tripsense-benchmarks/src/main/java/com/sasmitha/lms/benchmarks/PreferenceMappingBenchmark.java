@@ -0,0 +1,35 @@
+package com.sasmitha.lms.benchmarks;
+
+import com.sasmitha.lms.dto.PreferenceResponse;
+import com.sasmitha.lms.model.Preference;
+import com.sasmitha.lms.service.PreferenceServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Preference} to {@code PreferenceResponse} mapping for one page of preferences.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreferenceMappingBenchmark {
+    @Param({"1", "20", "100"})
+    private int pageSize;
+
+    private List<Preference> preferences;
+
+    @Setup
+    public void setUp() {
+        preferences = Fixtures.preferences(pageSize);
+    }
+
+    @Benchmark
+    public List<PreferenceResponse> toResponse() {
+        return preferences.stream().map(PreferenceServiceImpl::toResponse).toList();
+    }
+}
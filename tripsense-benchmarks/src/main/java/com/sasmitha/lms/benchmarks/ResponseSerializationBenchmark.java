@@ -0,0 +1,65 @@
+package com.sasmitha.lms.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sasmitha.lms.dto.RecommendationResult;
+import com.sasmitha.lms.dto.UserPreferenceAIResponse;
+import com.sasmitha.lms.model.Preference;
+import com.sasmitha.lms.service.PreferenceServiceImpl;
+import com.sasmitha.lms.util.RecommendationStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the {@code GET /preferences/user/{userId}} response body, with the
+ * mapper configured the way Spring Boot configures it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+    @Param({"1", "20"})
+    private int pageSize;
+
+    @Param({"5", "20"})
+    private int recommendationsPerPreference;
+
+    private ObjectMapper objectMapper;
+    private UserPreferenceAIResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<Preference> preferences = Fixtures.preferences(pageSize);
+        Map<Long, RecommendationResult> results = new LinkedHashMap<>();
+        for (Preference preference : preferences) {
+            results.put(preference.getId(), new RecommendationResult(
+                    Fixtures.recommendations(recommendationsPerPreference), RecommendationStatus.FRESH));
+        }
+
+        response = new UserPreferenceAIResponse();
+        response.setPreferences(preferences.stream().map(PreferenceServiceImpl::toResponse).toList());
+        response.setNextCursor("MjAyNS0wNi0wMVQwOTozMF8yMA");
+        response.setAiRecommendations(results.get(preferences.get(0).getId()).getRecommendations());
+        response.setAiStatus(RecommendationStatus.FRESH);
+        response.setRecommendationsByPreference(results);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Runs the same I/O-bound load twice, once on platform threads and once on virtual threads, and prints
+# both reports. Extra arguments are passed to both runs, e.g. ./compare-threads.sh --users=4000
+#
+# The precompute queue is shrunk to one slot so most reads still wait on the (slow) AI stub instead of
+# being served from stored recommendations, and the bulkhead and pools are raised so the thread model,
+# not a limit, is what caps concurrency. Tomcat keeps its default 200 platform threads.
+set -euo pipefail
+cd "$(dirname "$0")"
+
+COMMON="--users=2000 --duration-seconds=60 --warmup-seconds=15 --think-time-ms=0 \
+  --mix=recommendations:90,create-preference:10 --ai-latency-ms=500 --ai-jitter-ms=100 --ai-error-rate=0 \
+  --bcrypt-strength=4 \
+  --service.recommendations.precompute.threads=1 --service.recommendations.precompute.queue-size=1 \
+  --service.ai.client.max-concurrent-calls=5000 --service.ai.client.max-connections=5000 \
+  --service.ai.client.queue-size=5000 --service.ai.client.threads=200 \
+  --service.spring.datasource.hikari.maximum-pool-size=50 $*"
+
+mkdir -p target
+for mode in false true; do
+  mvn -q compile exec:java -Dexec.args="$COMMON --virtual-threads=$mode --report=target/threads-virtual-$mode.json"
+done
+echo "Reports: target/threads-virtual-false.json (platform), target/threads-virtual-true.json (virtual)"
@@ -0,0 +1,118 @@
+package com.sasmitha.lms.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the Node AI service's {@code POST /api/recomendations}. Each call waits
+ * {@code latencyMs} plus a uniform random {@code 0..jitterMs}, then fails with a 500 at {@code errorRate}
+ * or answers with recommendations in the same shape as the real service's local generator.
+ */
+public class AIStubServer implements AutoCloseable {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public AIStubServer(long latencyMs, long jitterMs, double errorRate) throws IOException {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/api/recomendations", this::handle);
+        this.server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/recomendations";
+    }
+
+    public long calls() {
+        return calls.get();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Map<?, ?> request = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+            calls.incrementAndGet();
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Thread.sleep(latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0));
+
+            if (random.nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                respond(exchange, 500, Map.of("error", "internal_error"));
+            } else {
+                respond(exchange, 200, recommendations(request));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, Map.of("error", "shutting_down"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Map<String, Object> recommendations(Map<?, ?> request) {
+        List<?> categories = request.get("categories") instanceof List<?> list ? list : List.of();
+        List<?> locations = request.get("locations") instanceof List<?> list ? list : List.of();
+
+        List<Map<String, Object>> recommendations = new ArrayList<>();
+        for (Object location : locations) {
+            for (Object category : categories) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("title", category + " spot near " + location);
+                item.put("location", location);
+                item.put("category", category);
+                item.put("estimatedCost", ThreadLocalRandom.current().nextInt(20, 300));
+                item.put("estimatedDistanceKm", ThreadLocalRandom.current().nextInt(5, 120));
+                item.put("durationHours", ThreadLocalRandom.current().nextInt(1, 8));
+                item.put("score", ThreadLocalRandom.current().nextInt(60, 100) / 100.0);
+                recommendations.add(item);
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", recommendations.size());
+        summary.put("startDate", request.get("startDate"));
+        summary.put("endDate", request.get("endDate"));
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("recommendations", recommendations);
+        body.put("summary", summary);
+        return body;
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,85 @@
+package com.sasmitha.lms.loadtest;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-operation latencies once {@link #start()} has been called; samples taken during warmup
+ * are dropped. Every sample is kept so percentiles are exact.
+ */
+public class LatencyRecorder {
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile long startedAt;
+
+    public void start() {
+        startedAt = System.nanoTime();
+        recording = true;
+    }
+
+    public void record(String operation, long nanos, boolean success) {
+        if (recording) {
+            series.computeIfAbsent(operation, key -> new Series()).add(nanos, success);
+        }
+    }
+
+    public List<OperationResult> results() {
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        List<OperationResult> results = new ArrayList<>();
+        new TreeMap<>(series).forEach((operation, samples) -> results.add(samples.summarize(operation, seconds)));
+        return results;
+    }
+
+    private static final class Series {
+        private long[] samples = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long nanos, boolean success) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized OperationResult summarize(String operation, double seconds) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return new OperationResult(
+                    operation,
+                    size,
+                    errors,
+                    seconds > 0 ? size / seconds : 0,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.90),
+                    percentile(sorted, 0.99),
+                    percentile(sorted, 0.999),
+                    size == 0 ? 0 : sorted[size - 1] / 1e6
+            );
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    public record OperationResult(
+            String operation,
+            long requests,
+            long errors,
+            double throughputPerSecond,
+            double p50Ms,
+            double p90Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs
+    ) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.sasmitha.lms.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@code users} virtual users, each on its own virtual thread, until the warmup and measurement
+ * windows have passed. A virtual user first registers, logs in and creates one preference, then keeps
+ * picking operations from the weighted mix with the configured think time between them.
+ */
+public class LoadDriver {
+    private static final String PASSWORD = "load-test-password";
+
+    private final TripSenseClient client;
+    private final LoadTestOptions options;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final List<String> operations = new ArrayList<>();
+    private final int[] cumulativeWeights;
+
+    public LoadDriver(TripSenseClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+        this.cumulativeWeights = new int[options.mix().size()];
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : options.mix().entrySet()) {
+            total += entry.getValue();
+            cumulativeWeights[operations.size()] = total;
+            operations.add(entry.getKey());
+        }
+    }
+
+    public List<LatencyRecorder.OperationResult> run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long deadline = warmupEnd + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.users(); i++) {
+                users.submit(() -> virtualUser(deadline));
+            }
+            TimeUnit.NANOSECONDS.sleep(warmupEnd - System.nanoTime());
+            recorder.start();
+        }
+        return recorder.results();
+    }
+
+    private void virtualUser(long deadline) {
+        Session session = null;
+        while (System.nanoTime() < deadline) {
+            try {
+                if (session == null) {
+                    session = newSession();
+                } else {
+                    session = next(session);
+                }
+                if (options.thinkTimeMs() > 0) {
+                    Thread.sleep(options.thinkTimeMs());
+                }
+            } catch (IOException e) {
+                // already recorded as a failed sample; carry on with the next operation
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Session newSession() throws IOException, InterruptedException {
+        String email = nextEmail();
+        timed(LoadTestOptions.REGISTER, () -> {
+            client.register(email, PASSWORD);
+            return null;
+        });
+        String token = timed(LoadTestOptions.LOGIN, () -> client.login(email, PASSWORD));
+        long userId = client.userId(token, email);
+        timed(LoadTestOptions.CREATE_PREFERENCE, () -> {
+            client.createPreference(token);
+            return null;
+        });
+        return new Session(email, token, userId);
+    }
+
+    private Session next(Session session) throws IOException, InterruptedException {
+        switch (pick()) {
+            case LoadTestOptions.REGISTER -> timed(LoadTestOptions.REGISTER, () -> {
+                client.register(nextEmail(), PASSWORD);
+                return null;
+            });
+            case LoadTestOptions.LOGIN -> {
+                String token = timed(LoadTestOptions.LOGIN, () -> client.login(session.email(), PASSWORD));
+                return new Session(session.email(), token, session.userId());
+            }
+            case LoadTestOptions.CREATE_PREFERENCE -> timed(LoadTestOptions.CREATE_PREFERENCE, () -> {
+                client.createPreference(session.token());
+                return null;
+            });
+            default -> timed(LoadTestOptions.RECOMMENDATIONS, () -> {
+                client.recommendations(session.token(), session.userId());
+                return null;
+            });
+        }
+        return session;
+    }
+
+    private <T> T timed(String operation, Call<T> call) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = call.call();
+            success = true;
+            return result;
+        } finally {
+            recorder.record(operation, System.nanoTime() - start, success);
+        }
+    }
+
+    private String pick() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private String nextEmail() {
+        return "load-" + ProcessHandle.current().pid() + "-" + emailSequence.incrementAndGet() + "@tripsense.test";
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        T call() throws IOException, InterruptedException;
+    }
+
+    private record Session(String email, String token, long userId) {
+    }
+}
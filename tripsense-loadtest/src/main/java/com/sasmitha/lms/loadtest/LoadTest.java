@@ -0,0 +1,85 @@
+package com.sasmitha.lms.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sasmitha.lms.Main;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots tripsense-service in-process against an in-memory H2 database (MySQL mode, schema from the
+ * service's Flyway migrations) and the
+ * {@link AIStubServer}, drives the configured request mix over HTTP and prints throughput and latency
+ * percentiles per operation. Needs no MySQL, Node service or network access.
+ */
+public class LoadTest {
+    private static final String ADMIN_EMAIL = "sasmithahiram2003@gmail.com";
+    private static final String ADMIN_PASSWORD = "123";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (AIStubServer aiStub = new AIStubServer(options.aiLatencyMs(), options.aiJitterMs(), options.aiErrorRate());
+             ConfigurableApplicationContext service = startService(options, aiStub.url())) {
+            int port = ((WebServerApplicationContext) service).getWebServer().getPort();
+            TripSenseClient client = new TripSenseClient("http://127.0.0.1:" + port + "/api/v1");
+            client.createRole(client.login(ADMIN_EMAIL, ADMIN_PASSWORD), "USER");
+
+            System.out.printf("Running %d users for %ds after %ds warmup against port %d on %s threads%n",
+                    options.users(), options.durationSeconds(), options.warmupSeconds(), port,
+                    options.virtualThreads() ? "virtual" : "platform");
+            List<LatencyRecorder.OperationResult> results = new LoadDriver(client, options).run();
+
+            print(results, aiStub, System.out);
+            if (options.report() != null) {
+                Map<String, Object> report = new LinkedHashMap<>();
+                report.put("options", options);
+                report.put("operations", results);
+                report.put("aiStub", Map.of("calls", aiStub.calls(), "errors", aiStub.errors()));
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(options.report()), report);
+                System.out.println("Report written to " + options.report());
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startService(LoadTestOptions options, String aiUrl) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:tripsense;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--ai.url=" + aiUrl,
+                "--security.bcrypt.strength=" + options.bcryptStrength(),
+                "--spring.threads.virtual.enabled=" + options.virtualThreads()
+        ));
+        if (!options.serviceProperties().containsKey("rate-limit.enabled")) {
+            // Every virtual user shares 127.0.0.1, so the per-IP login and register limits would dominate the results.
+            args.add("--rate-limit.enabled=false");
+        }
+        options.serviceProperties().forEach((name, value) -> args.add("--" + name + "=" + value));
+        return new SpringApplicationBuilder(Main.class).run(args.toArray(String[]::new));
+    }
+
+    private static void print(List<LatencyRecorder.OperationResult> results, AIStubServer aiStub, PrintStream out) {
+        out.printf("%n%-18s %9s %8s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LatencyRecorder.OperationResult result : results) {
+            out.printf("%-18s %9d %8d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    result.operation(), result.requests(), result.errors(), result.throughputPerSecond(),
+                    result.p50Ms(), result.p90Ms(), result.p99Ms(), result.p999Ms(), result.maxMs());
+        }
+        out.printf("%nAI stub: %d calls, %d injected errors%n", aiStub.calls(), aiStub.errors());
+    }
+}
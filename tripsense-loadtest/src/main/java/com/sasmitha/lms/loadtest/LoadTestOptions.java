@@ -0,0 +1,85 @@
+package com.sasmitha.lms.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, given as {@code --name=value}. Every option has a default so the harness runs
+ * with no arguments. Options prefixed with {@code --service.} are passed to the service under test with
+ * the prefix removed, e.g. {@code --service.ai.client.max-concurrent-calls=500}.
+ */
+public record LoadTestOptions(
+        int users,
+        int durationSeconds,
+        int warmupSeconds,
+        long thinkTimeMs,
+        Map<String, Integer> mix,
+        long aiLatencyMs,
+        long aiJitterMs,
+        double aiErrorRate,
+        int bcryptStrength,
+        boolean virtualThreads,
+        Map<String, String> serviceProperties,
+        String report
+) {
+    static final String REGISTER = "register";
+    static final String LOGIN = "login";
+    static final String CREATE_PREFERENCE = "create-preference";
+    static final String RECOMMENDATIONS = "recommendations";
+
+    private static final Set<String> OPTIONS = Set.of("users", "duration-seconds", "warmup-seconds", "think-time-ms", "mix",
+            "ai-latency-ms", "ai-jitter-ms", "ai-error-rate", "bcrypt-strength", "virtual-threads", "report");
+    private static final String SERVICE_PREFIX = "service.";
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, String> serviceProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (name.startsWith(SERVICE_PREFIX)) {
+                serviceProperties.put(name.substring(SERVICE_PREFIX.length()), arg.substring(arg.indexOf('=') + 1));
+                continue;
+            }
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + OPTIONS);
+            }
+            values.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("users", "50")),
+                Integer.parseInt(values.getOrDefault("duration-seconds", "60")),
+                Integer.parseInt(values.getOrDefault("warmup-seconds", "10")),
+                Long.parseLong(values.getOrDefault("think-time-ms", "100")),
+                parseMix(values.getOrDefault("mix", RECOMMENDATIONS + ":60," + CREATE_PREFERENCE + ":20," + LOGIN + ":15," + REGISTER + ":5")),
+                Long.parseLong(values.getOrDefault("ai-latency-ms", "300")),
+                Long.parseLong(values.getOrDefault("ai-jitter-ms", "200")),
+                Double.parseDouble(values.getOrDefault("ai-error-rate", "0.02")),
+                Integer.parseInt(values.getOrDefault("bcrypt-strength", "10")),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                serviceProperties,
+                values.get("report")
+        );
+        return options;
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":", 2);
+            String operation = parts[0].trim();
+            if (!operation.equals(REGISTER) && !operation.equals(LOGIN) && !operation.equals(CREATE_PREFERENCE) && !operation.equals(RECOMMENDATIONS)) {
+                throw new IllegalArgumentException("Unknown operation in mix: " + operation);
+            }
+            mix.put(operation, Integer.parseInt(parts[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix weights must add up to more than zero");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,113 @@
+package com.sasmitha.lms.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Minimal HTTP client for the service endpoints the load mix uses. Any non-2xx answer is thrown as
+ * {@link RequestFailedException}.
+ */
+public class TripSenseClient {
+    private static final List<String> CATEGORIES = List.of("Adventure", "Beach", "Cultural", "Leisure", "Nature", "Romantic", "Wildlife", "Historical");
+    private static final List<String> LOCATIONS = List.of("Kandy", "Galle", "Ella", "Sigiriya", "Mirissa", "Nuwara Eliya", "Trincomalee", "Anuradhapura");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    public TripSenseClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public void register(String email, String password) throws IOException, InterruptedException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("firstName", "Load");
+        body.put("lastName", "Test");
+        body.put("email", email);
+        body.put("password", password);
+        send(post("/users/register", null, body));
+    }
+
+    public String login(String email, String password) throws IOException, InterruptedException {
+        return send(post("/auth/login", null, Map.of("email", email, "password", password))).get("token").asText();
+    }
+
+    public long userId(String token, String email) throws IOException, InterruptedException {
+        return send(get("/users/" + URLEncoder.encode(email, StandardCharsets.UTF_8), token)).get("userId").asLong();
+    }
+
+    public void createRole(String token, String name) throws IOException, InterruptedException {
+        send(post("/roles", token, Map.of("name", name)));
+    }
+
+    public void createPreference(String token) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate startDate = LocalDate.now().plusDays(random.nextInt(1, 90));
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("categories", List.of(CATEGORIES.get(random.nextInt(CATEGORIES.size())), CATEGORIES.get(random.nextInt(CATEGORIES.size()))));
+        body.put("locations", List.of(LOCATIONS.get(random.nextInt(LOCATIONS.size()))));
+        body.put("startDate", startDate.toString());
+        body.put("endDate", startDate.plusDays(random.nextInt(1, 10)).toString());
+        body.put("maxDistanceKm", random.nextInt(10, 200));
+        body.put("maxBudget", (double) random.nextInt(100, 2000));
+        send(post("/preferences", token, body));
+    }
+
+    public void recommendations(String token, long userId) throws IOException, InterruptedException {
+        send(get("/preferences/user/" + userId, token));
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new RequestFailedException(request.method() + " " + request.uri().getPath() + " returned " + response.statusCode());
+        }
+        return response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+    }
+
+    public static class RequestFailedException extends IOException {
+        public RequestFailedException(String message) {
+            super(message);
+        }
+    }
+}
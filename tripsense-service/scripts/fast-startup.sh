@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# Builds the AOT-processed jar, extracts it and records an AppCDS archive with a training run, then
+# prints the command to start the service with both. The training run needs the database from
+# application.yml (or SPRING_DATASOURCE_* overrides) to be reachable, since the schema is validated.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+mvn -q -Pfast-startup -DskipTests package
+rm -rf target/fast-startup
+java -Djarmode=tools -jar target/tripsense-service-1.0-SNAPSHOT.jar extract --destination target/fast-startup
+
+cd target/fast-startup
+java -XX:ArchiveClassesAtExit=application.jsa \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -jar tripsense-service-1.0-SNAPSHOT.jar --spring.profiles.active=fast-startup
+
+echo
+echo "Start with:"
+echo "  cd $(pwd) && java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar tripsense-service-1.0-SNAPSHOT.jar --spring.profiles.active=fast-startup"
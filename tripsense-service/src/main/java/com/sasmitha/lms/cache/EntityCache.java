@@ -0,0 +1,85 @@
+package com.sasmitha.lms.cache;
+
+import com.sasmitha.lms.dto.CacheStatsResponse;
+import com.sasmitha.lms.model.Role;
+import com.sasmitha.lms.model.User;
+import com.sasmitha.lms.repository.AdminRepository;
+import com.sasmitha.lms.repository.RoleRepository;
+import com.sasmitha.lms.util.Emails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-through cache for users (by email) and roles (by name). It holds immutable snapshots rather than
+ * entities, so concurrent requests never share a detached instance; use the reference methods to attach a
+ * cached user or role to a new row. Callers that write a user or role must evict it.
+ */
+@Component
+public class EntityCache {
+    private final AdminRepository adminRepository;
+    private final RoleRepository roleRepository;
+    private final LruCache<String, CachedUser> usersByEmail;
+    private final LruCache<String, CachedRole> rolesByName;
+
+    public EntityCache(AdminRepository adminRepository,
+                       RoleRepository roleRepository,
+                       @Value("${entity-cache.users.max-size:10000}") int userMaxSize,
+                       @Value("${entity-cache.users.ttl-ms:300000}") long userTtlMs,
+                       @Value("${entity-cache.roles.ttl-ms:3600000}") long roleTtlMs) {
+        this.adminRepository = adminRepository;
+        this.roleRepository = roleRepository;
+        this.usersByEmail = new LruCache<>("usersByEmail", userMaxSize, userTtlMs);
+        this.rolesByName = new LruCache<>("rolesByName", 100, roleTtlMs);
+    }
+
+    public Optional<CachedUser> findUserByEmail(String email) {
+        return Optional.ofNullable(usersByEmail.get(Emails.normalize(email),
+                key -> adminRepository.findWithRoleByEmail(key).map(CachedUser::of).orElse(null)));
+    }
+
+    public Optional<CachedRole> findRoleByName(String name) {
+        return Optional.ofNullable(rolesByName.get(name,
+                key -> roleRepository.findByName(key).map(CachedRole::of).orElse(null)));
+    }
+
+    public User userReference(CachedUser user) {
+        return adminRepository.getReferenceById(user.id());
+    }
+
+    public Role roleReference(CachedRole role) {
+        return roleRepository.getReferenceById(role.id());
+    }
+
+    public void evictUser(String email) {
+        usersByEmail.evict(Emails.normalize(email));
+    }
+
+    public void evictRole(String name) {
+        rolesByName.evict(name);
+    }
+
+    public List<CacheStatsResponse> stats() {
+        return List.of(usersByEmail.stats(), rolesByName.stats());
+    }
+
+    public record CachedUser(Long id, String email, String password, String roleName) {
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getEmail(), user.getPassword(),
+                    user.getRole() == null ? null : user.getRole().getName());
+        }
+
+        @Override
+        public String toString() {
+            return "CachedUser[id=" + id + ", email=" + email + ", roleName=" + roleName + "]";
+        }
+    }
+
+    public record CachedRole(Long id, String name) {
+        static CachedRole of(Role role) {
+            return new CachedRole(role.getId(), role.getName());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sasmitha.lms.cache;
+
+import com.sasmitha.lms.dto.CacheStatsResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Small synchronized LRU map with a per-entry TTL and hit/miss/eviction counters.
+ * Loader results of {@code null} are not cached, so absent keys are always looked up again.
+ */
+public class LruCache<K, V> {
+    private final String name;
+    private final long ttlMs;
+    private final int maxSize;
+    private final Map<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public LruCache(String name, int maxSize, long ttlMs) {
+        this.name = name;
+        this.ttlMs = ttlMs;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, LruCache.Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return entry.value();
+            }
+        }
+        misses.incrementAndGet();
+        V value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMs));
+    }
+
+    public synchronized void evict(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized CacheStatsResponse stats() {
+        return new CacheStatsResponse(name, entries.size(), hits.get(), misses.get(), evictions.get());
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.sasmitha.lms.cache;
+
+import com.sasmitha.lms.dto.CacheStatsResponse;
+import com.sasmitha.lms.dto.RecommendationPayload;
+import com.sasmitha.lms.model.Preference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recommendations keyed by a normalized fingerprint of the AI payload, bounded by size (LRU) and TTL.
+ * Entries are also indexed by user so that a preference change drops everything computed for that user.
+ */
+@Component
+public class RecommendationCache {
+    private final long ttlMs;
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+    private final Map<Long, Set<String>> keysByUser = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public RecommendationCache(@Value("${ai.cache.ttl-ms:600000}") long ttlMs,
+                               @Value("${ai.cache.max-size:5000}") int maxSize) {
+        this.ttlMs = ttlMs;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RecommendationCache.Entry> eldest) {
+                if (size() > RecommendationCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    unindex(eldest.getKey(), eldest.getValue().userId);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized RecommendationPayload getIfPresent(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Returns the entry for {@code key} even if its TTL has passed. Expired entries are kept until
+     * they are evicted or invalidated so that they can serve as a fallback while the AI service is down.
+     */
+    public synchronized RecommendationPayload getStale(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public synchronized void put(String key, Long userId, RecommendationPayload value) {
+        Entry previous = entries.put(key, new Entry(userId, value, System.currentTimeMillis() + ttlMs));
+        if (previous != null && !Objects.equals(previous.userId, userId)) {
+            unindex(key, previous.userId);
+        }
+        if (userId != null) {
+            keysByUser.computeIfAbsent(userId, id -> new HashSet<>()).add(key);
+        }
+    }
+
+    public synchronized void invalidateUser(Long userId) {
+        Set<String> keys = keysByUser.remove(userId);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        keysByUser.clear();
+    }
+
+    public synchronized CacheStatsResponse stats() {
+        return new CacheStatsResponse("recommendations", entries.size(), hits.get(), misses.get(), evictions.get());
+    }
+
+    public static String fingerprint(Preference preference) {
+        StringBuilder normalized = new StringBuilder()
+                .append(normalize(preference.getCategories())).append('|')
+                .append(normalize(preference.getLocations())).append('|')
+                .append(preference.getStartDate()).append('|')
+                .append(preference.getEndDate()).append('|')
+                .append(preference.getMaxDistanceKm()).append('|')
+                .append(preference.getMaxBudget());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String normalize(Collection<String> values) {
+        if (values == null) {
+            return "";
+        }
+        return values.stream()
+                .filter(Objects::nonNull)
+                .map(value -> value.trim().toLowerCase(Locale.ROOT))
+                .sorted()
+                .distinct()
+                .reduce((a, b) -> a + "," + b)
+                .orElse("");
+    }
+
+    private void unindex(String key, Long userId) {
+        if (userId == null) {
+            return;
+        }
+        Set<String> keys = keysByUser.get(userId);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByUser.remove(userId);
+            }
+        }
+    }
+
+    private record Entry(Long userId, RecommendationPayload value, long expiresAt) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.sasmitha.lms.client;
+
+import com.sasmitha.lms.dto.AIClientStatsResponse;
+import com.sasmitha.lms.dto.RecommendationPayload;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP client dedicated to the Node AI service: pooled keep-alive connections, bounded timeouts
+ * and a small executor so callers can overlap the AI round trip with their own work. With
+ * {@code spring.threads.virtual.enabled} the executor starts a virtual thread per call instead.
+ * Async calls are guarded by a bulkhead (max concurrent calls) and a circuit breaker; rejected calls
+ * fail fast with {@link AIUnavailableException} instead of waiting on a sick backend. Response bodies are
+ * read by {@link AIResponseReader}.
+ */
+@Component
+public class AIClient {
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final CircuitBreaker circuitBreaker;
+    private final AtomicLong rejectedByBulkhead = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+    private final AIResponseReader responseReader;
+
+    public AIClient(@Value("${ai.client.max-connections:50}") int maxConnections,
+                    @Value("${ai.client.connect-timeout-ms:1000}") long connectTimeoutMs,
+                    @Value("${ai.client.read-timeout-ms:5000}") long readTimeoutMs,
+                    @Value("${ai.client.pool-timeout-ms:500}") long poolTimeoutMs,
+                    @Value("${ai.client.keep-alive-ms:30000}") long keepAliveMs,
+                    @Value("${ai.client.threads:20}") int threads,
+                    @Value("${ai.client.queue-size:100}") int queueSize,
+                    @Value("${ai.client.max-concurrent-calls:20}") int maxConcurrentCalls,
+                    @Value("${ai.client.circuit.failure-threshold:5}") int failureThreshold,
+                    @Value("${ai.client.circuit.open-duration-ms:30000}") long openDurationMs,
+                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                    MeterRegistry meterRegistry,
+                    AIResponseReader responseReader) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+        this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        this.restTemplate.getInterceptors().add(this::recordPayloadSizes);
+
+        if (virtualThreads) {
+            // One virtual thread per call; concurrency is bounded by the bulkhead and the connection pool instead.
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ai-client-", 1).factory());
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueSize),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "ai-client-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+        }
+
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDurationMs);
+
+        this.meterRegistry = meterRegistry;
+        this.responseReader = responseReader;
+        Gauge.builder("tripsense.ai.calls.active", bulkhead, permits -> maxConcurrentCalls - permits.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("tripsense.ai.circuit.open", circuitBreaker, breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .register(meterRegistry);
+    }
+
+    private RecommendationPayload post(String url, Object payload) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            RecommendationPayload result = restTemplate.execute(url, HttpMethod.POST, restTemplate.httpEntityCallback(payload),
+                    response -> responseReader.read(response.getBody()));
+            outcome = "success";
+            return result;
+        } catch (HttpClientErrorException e) {
+            outcome = "client_error";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("tripsense.ai.calls", "outcome", outcome));
+        }
+    }
+
+    private ClientHttpResponse recordPayloadSizes(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        DistributionSummary.builder("tripsense.ai.payload.size").baseUnit("bytes").tag("direction", "request")
+                .register(meterRegistry).record(body.length);
+        ClientHttpResponse response = execution.execute(request, body);
+        long contentLength = response.getHeaders().getContentLength();
+        if (contentLength >= 0) {
+            DistributionSummary.builder("tripsense.ai.payload.size").baseUnit("bytes").tag("direction", "response")
+                    .register(meterRegistry).record(contentLength);
+        }
+        return response;
+    }
+
+    private CompletableFuture<RecommendationPayload> reject(String reason, String message) {
+        meterRegistry.counter("tripsense.ai.calls.rejected", "reason", reason).increment();
+        return CompletableFuture.failedFuture(new AIUnavailableException(message));
+    }
+
+    public CompletableFuture<RecommendationPayload> postAsync(String url, Object payload) {
+        if (!bulkhead.tryAcquire()) {
+            rejectedByBulkhead.incrementAndGet();
+            return reject("bulkhead", "AI service bulkhead is full");
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            bulkhead.release();
+            return reject("circuit_open", "AI service circuit is open");
+        }
+
+        CompletableFuture<RecommendationPayload> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> post(url, payload), executor);
+        } catch (RejectedExecutionException e) {
+            bulkhead.release();
+            circuitBreaker.onFailure();
+            rejectedByBulkhead.incrementAndGet();
+            return reject("executor", "AI service executor is saturated");
+        }
+        return future.whenComplete((result, error) -> {
+            bulkhead.release();
+            if (error == null || error.getCause() instanceof HttpClientErrorException) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+        });
+    }
+
+    public AIClientStatsResponse stats() {
+        return new AIClientStatsResponse(
+                circuitBreaker.getState().name(),
+                circuitBreaker.getConsecutiveFailures(),
+                circuitBreaker.getRejected(),
+                rejectedByBulkhead.get(),
+                maxConcurrentCalls - bulkhead.availablePermits(),
+                maxConcurrentCalls
+        );
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        executor.shutdown();
+        httpClient.close();
+    }
+}
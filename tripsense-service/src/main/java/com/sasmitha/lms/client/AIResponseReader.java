@@ -0,0 +1,61 @@
+package com.sasmitha.lms.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sasmitha.lms.dto.AIRecommendations;
+import com.sasmitha.lms.dto.RawRecommendations;
+import com.sasmitha.lms.dto.RecommendationPayload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads AI service responses straight from the response stream into {@link AIRecommendations} with a
+ * pre-resolved {@link ObjectReader}, so no intermediate {@code Map} tree is built. With
+ * {@code ai.client.passthrough} the body is only checked token by token to be one well-formed JSON object
+ * and is then kept as {@link RawRecommendations}, skipping object mapping in both directions.
+ */
+@Component
+public class AIResponseReader {
+    private final ObjectReader recommendationsReader;
+    private final JsonFactory jsonFactory;
+    private final boolean passthrough;
+
+    public AIResponseReader(ObjectMapper objectMapper,
+                            @Value("${ai.client.passthrough:false}") boolean passthrough) {
+        this.recommendationsReader = objectMapper.readerFor(AIRecommendations.class);
+        this.jsonFactory = objectMapper.getFactory();
+        this.passthrough = passthrough;
+    }
+
+    public RecommendationPayload read(InputStream body) throws IOException {
+        if (!passthrough) {
+            return recommendationsReader.readValue(body);
+        }
+        byte[] bytes = body.readAllBytes();
+        try (JsonParser parser = jsonFactory.createParser(bytes)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "AI response is not a JSON object");
+            }
+            parser.skipChildren();
+            if (parser.nextToken() != null) {
+                throw new JsonParseException(parser, "Unexpected content after the AI response object");
+            }
+        }
+        return new RawRecommendations(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a payload this service stored itself, so passthrough mode keeps it as is without checking it.
+     */
+    public RecommendationPayload read(String json) throws IOException {
+        return passthrough ? new RawRecommendations(json) : recommendationsReader.readValue(json);
+    }
+}
@@ -0,0 +1,7 @@
+package com.sasmitha.lms.client;
+
+public class AIUnavailableException extends RuntimeException {
+    public AIUnavailableException(String message) {
+        super(message);
+    }
+}
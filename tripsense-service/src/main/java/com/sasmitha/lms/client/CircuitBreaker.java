@@ -0,0 +1,70 @@
+package com.sasmitha.lms.client;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} failures the circuit opens and
+ * rejects calls for {@code openDurationMs}; then a single trial call decides whether it closes again.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long rejected;
+
+    public CircuitBreaker(int failureThreshold, long openDurationMs) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        rejected++;
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+        trialInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,61 @@
+package com.sasmitha.lms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Active only when {@code spring.datasource.replica.url} is set; otherwise Spring Boot's single
+ * datasource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.datasource.replica.url")
+public class DataSourceRoutingConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${spring.datasource.replica.url}") String url,
+                                              @Value("${spring.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${spring.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                 HikariDataSource replicaDataSource,
+                                                                 @Value("${spring.datasource.replica.lag-query:}") String lagQuery,
+                                                                 @Value("${spring.datasource.replica.max-lag-seconds:5}") long maxLagSeconds,
+                                                                 @Value("${spring.datasource.replica.check-interval-ms:5000}") long checkIntervalMs) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, lagQuery, maxLagSeconds, checkIntervalMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+}
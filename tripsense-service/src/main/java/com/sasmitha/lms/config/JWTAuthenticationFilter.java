@@ -1,5 +1,9 @@
 package com.sasmitha.lms.config;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +24,8 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
     private final JWTUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+    private final TokenDenylist tokenDenylist;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -31,12 +37,26 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = header.substring(7);
-        if (jwtUtil.validateToken(token)) {
-            String email = jwtUtil.extractEmail(token);
-            String role = jwtUtil.extractRole(token);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        JWTPrincipal principal = null;
+        String result;
+        try {
+            principal = jwtUtil.verifyToken(token);
+            result = "valid";
+            if (tokenDenylist.isRevoked(principal)) {
+                principal = null;
+                result = "revoked";
+            }
+        } catch (ExpiredJwtException e) {
+            result = "expired";
+        } catch (JwtException e) {
+            result = "invalid";
+        }
+        RequestTimings.record("auth", sample.stop(meterRegistry.timer("tripsense.auth.tokens", "result", result)));
 
+        if (principal != null) {
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(email, null, Collections.singletonList(new SimpleGrantedAuthority(role)));
+                    new UsernamePasswordAuthenticationToken(principal.getEmail(), null, Collections.singletonList(new SimpleGrantedAuthority(principal.getRole())));
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
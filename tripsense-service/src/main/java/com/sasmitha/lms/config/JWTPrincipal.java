@@ -0,0 +1,22 @@
+package com.sasmitha.lms.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Date;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class JWTPrincipal {
+    private final String email;
+    private final String role;
+    private final Date expiration;
+    private final String tokenId;
+    private final Date issuedAt;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+}
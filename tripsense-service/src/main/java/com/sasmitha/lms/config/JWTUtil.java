@@ -1,59 +1,144 @@
 package com.sasmitha.lms.config;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class JWTUtil {
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-    @Value("${jwt.expiration}")
-    private long jwtExpirationMs;
+    private static final long SWEEP_INTERVAL_MS = 1000;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    private final long jwtExpirationMs;
+    private final int cacheMaxSize;
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+    private final Map<String, JWTPrincipal> verifiedTokens = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+
+    public JWTUtil(@Value("${jwt.secret}") String jwtSecret,
+                   @Value("${jwt.expiration}") long jwtExpirationMs,
+                   @Value("${jwt.cache.max-size:10000}") int cacheMaxSize) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.cacheMaxSize = cacheMaxSize;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
     public String generateToken(String email, String role) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns its principal, or {@code null} when the token is
+     * invalid or expired. Recently verified tokens are served from a bounded cache until they expire.
+     */
+    public JWTPrincipal parseToken(String token) {
+        try {
+            return verifyToken(token);
+        } catch (JwtException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Same as {@link #parseToken(String)} but reports why a token was refused: {@link ExpiredJwtException}
+     * for an expired token and another {@link JwtException} for anything else.
+     */
+    public JWTPrincipal verifyToken(String token) {
+        JWTPrincipal cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            verifiedTokens.remove(token);
+            throw new ExpiredJwtException(null, null, "JWT expired at " + cached.getExpiration());
+        }
+
+        JWTPrincipal principal;
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            String tokenId = claims.getId() != null ? claims.getId() : fingerprint(token);
+            principal = new JWTPrincipal(claims.getSubject(), (String) claims.get("role"), claims.getExpiration(), tokenId, claims.getIssuedAt());
+        } catch (JwtException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new MalformedJwtException(e.getMessage(), e);
+        }
+
+        if (verifiedTokens.size() >= cacheMaxSize) {
+            evictExpired();
+            if (verifiedTokens.size() >= cacheMaxSize) {
+                // Still full of live tokens: drop an arbitrary one so the new token is cached, in O(1).
+                Iterator<String> iterator = verifiedTokens.keySet().iterator();
+                if (iterator.hasNext()) {
+                    verifiedTokens.remove(iterator.next());
+                }
+            }
+        }
+        verifiedTokens.put(token, principal);
+        return principal;
+    }
+
+    int cacheSize() {
+        return verifiedTokens.size();
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        long last = lastSweep.get();
+        // A cache full of live tokens would otherwise rescan on every miss.
+        if (now - last < SWEEP_INTERVAL_MS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        verifiedTokens.values().removeIf(JWTPrincipal::isExpired);
+    }
+
+    // Tokens issued before IDs were added are identified by their hash so they can still be revoked.
+    private static String fingerprint(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
+    public boolean validateToken(String token) {
+        return parseToken(token) != null;
+    }
+
     public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        JWTPrincipal principal = parseToken(token);
+        return principal == null ? null : principal.getEmail();
     }
 
     public String extractRole(String token) {
-        return (String) Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("role");
+        JWTPrincipal principal = parseToken(token);
+        return principal == null ? null : principal.getRole();
     }
 }
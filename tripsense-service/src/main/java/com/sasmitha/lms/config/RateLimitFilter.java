@@ -0,0 +1,99 @@
+package com.sasmitha.lms.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the first matching {@code rate-limit.routes} entry to each request and answers 429 with
+ * {@code Retry-After} once the client's bucket is empty. Runs right after {@link JWTAuthenticationFilter}
+ * so {@code user} routes are keyed by the token's email; {@code ip} routes (login, register) and
+ * unauthenticated calls to {@code user} routes are keyed by the remote address.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final boolean enabled;
+    private final List<LimitedRoute> routes;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new LimitedRoute(
+                        route.getPattern(),
+                        PathPatternParser.defaultInstance.parse(route.getPattern()),
+                        route.getMethod(),
+                        route.getKey(),
+                        new RateLimiter(route.getCapacity(), route.getPerMinute(), properties.getMaxKeys())))
+                .toList();
+        this.meterRegistry = meterRegistry;
+        for (LimitedRoute route : routes) {
+            Gauge.builder("tripsense.ratelimit.keys", route.limiter(), RateLimiter::size)
+                    .tag("route", route.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        LimitedRoute route = enabled ? match(request) : null;
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = route.limiter().tryAcquire(clientKey(route, request));
+        if (waitNanos > 0) {
+            meterRegistry.counter("tripsense.ratelimit.rejected", "route", route.name(), "key", route.key().name().toLowerCase(Locale.ROOT)).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private LimitedRoute match(HttpServletRequest request) {
+        if ("OPTIONS".equals(request.getMethod())) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        for (LimitedRoute route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(request.getMethod())) && route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(LimitedRoute route, HttpServletRequest request) {
+        if (route.key() == RateLimitProperties.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record LimitedRoute(String name, PathPattern pattern, String method, RateLimitProperties.KeyType key, RateLimiter limiter) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.sasmitha.lms.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route limits for {@link RateLimitFilter}, bound from {@code rate-limit}.
+ */
+@Component
+@ConfigurationProperties("rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int maxKeys = 100_000;
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String pattern;
+        private String method;
+        private KeyType key = KeyType.USER;
+        private int capacity;
+        private int perMinute;
+    }
+
+    public enum KeyType {
+        USER,
+        IP
+    }
+}
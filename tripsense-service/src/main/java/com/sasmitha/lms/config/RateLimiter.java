@@ -0,0 +1,77 @@
+package com.sasmitha.lms.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by client. Each bucket is kept in GCRA form, as the single instant at which it will
+ * be full again, so taking a token is one compare-and-set and needs no lock. A bucket whose instant has
+ * passed is full and carries no state, so it is dropped when the limiter reaches {@code maxKeys}; keys
+ * that still do not fit share one overflow bucket rather than growing the map, so a flood of new keys is
+ * limited together instead of passing unchecked.
+ */
+class RateLimiter {
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+
+    RateLimiter(int capacity, int perMinute, int maxKeys) {
+        if (capacity < 1 || perMinute < 1) {
+            throw new IllegalArgumentException("Rate limit capacity and per-minute must be at least 1");
+        }
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+        this.burstNanos = intervalNanos * capacity;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes a token for {@code key}. Returns 0 on success, otherwise the nanoseconds until one is available.
+     */
+    long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdle(now);
+                if (buckets.size() >= maxKeys) {
+                    return take(overflow, now);
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+        }
+        return take(bucket, now);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private long take(AtomicLong bucket, long now) {
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + intervalNanos;
+            long waitNanos = next - now - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private void evictIdle(long now) {
+        long last = lastSweep.get();
+        // A full map of busy clients would otherwise rescan on every new key.
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.sasmitha.lms.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary.
+ * A background check marks the replica unhealthy when it stops answering or, if a lag query is
+ * configured, when its replication lag exceeds {@code maxLagSeconds}; reads then fall back to the primary.
+ * Must sit behind a {@code LazyConnectionDataSourceProxy} so the read-only flag is known when the
+ * physical connection is fetched.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private final DataSource primary;
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final ScheduledExecutorService healthChecker;
+
+    private volatile boolean replicaHealthy = true;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, String lagQuery,
+                                      long maxLagSeconds, long checkIntervalMs) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.healthChecker.scheduleWithFixedDelay(this::checkReplica, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                markReplica(false, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                markReplica(false, e.getMessage());
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    private boolean useReplica() {
+        return replicaHealthy && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private void checkReplica() {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(2)) {
+                markReplica(false, "connection is not valid");
+                return;
+            }
+            if (lagQuery == null || lagQuery.isBlank()) {
+                markReplica(true, null);
+                return;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                Long lag = null;
+                if (resultSet.next()) {
+                    long value = resultSet.getLong(1);
+                    lag = resultSet.wasNull() ? null : value;
+                }
+                boolean healthy = lag != null && lag <= maxLagSeconds;
+                markReplica(healthy, healthy ? null : "replication lag " + (lag == null ? "unknown" : lag + "s"));
+            }
+        } catch (SQLException | RuntimeException e) {
+            markReplica(false, e.getMessage());
+        }
+    }
+
+    private void markReplica(boolean healthy, String reason) {
+        if (replicaHealthy != healthy) {
+            if (healthy) {
+                log.info("Replica is healthy again, routing read-only transactions to it");
+            } else {
+                log.warn("Replica marked unhealthy ({}), routing reads to primary", reason);
+            }
+        }
+        replicaHealthy = healthy;
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+    }
+}
@@ -0,0 +1,25 @@
+package com.sasmitha.lms.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds every Spring Data repository call made on a request thread to that request's {@code db} timing.
+ */
+@Component
+public class RepositoryTimingPostProcessor implements BeanPostProcessor {
+    private static final RepositoryMethodInvocationListener LISTENER =
+            invocation -> RequestTimings.record("db", invocation.getDuration(TimeUnit.NANOSECONDS));
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(LISTENER));
+        }
+        return bean;
+    }
+}
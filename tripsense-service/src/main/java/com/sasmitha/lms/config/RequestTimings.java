@@ -0,0 +1,81 @@
+package com.sasmitha.lms.config;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Per-request latency breakdown ({@code auth}, {@code db}, {@code map}, {@code ai}, ...). The instance is
+ * bound to the request thread by {@link ServerTimingFilter}; code running on other threads should capture
+ * {@link #current()} on the request thread and call {@link #add} on it later.
+ */
+public final class RequestTimings {
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private final Map<String, long[]> entries = new LinkedHashMap<>();
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The timings of the request being handled on this thread, or {@code null} outside a request.
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void record(String name, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(name, nanos);
+        }
+    }
+
+    public synchronized void add(String name, long nanos) {
+        long[] entry = entries.computeIfAbsent(name, key -> new long[2]);
+        entry[0] += nanos;
+        entry[1]++;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * {@code Server-Timing} header value, e.g. {@code auth;dur=0.4, db;dur=12.1;desc="3 calls", total;dur=58.0}.
+     */
+    public synchronized String toHeaderValue() {
+        StringJoiner joiner = new StringJoiner(", ");
+        entries.forEach((name, entry) -> {
+            String value = name + ";dur=" + millis(entry[0]);
+            joiner.add(entry[1] > 1 ? value + ";desc=\"" + entry[1] + " calls\"" : value);
+        });
+        joiner.add("total;dur=" + millis(elapsedNanos()));
+        return joiner.toString();
+    }
+
+    /**
+     * Space separated {@code name_ms=... name_count=...} fields for log lines.
+     */
+    public synchronized String toLogFields() {
+        StringJoiner joiner = new StringJoiner(" ");
+        entries.forEach((name, entry) -> joiner.add(name + "_ms=" + millis(entry[0]) + " " + name + "_count=" + entry[1]));
+        return joiner.toString();
+    }
+
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
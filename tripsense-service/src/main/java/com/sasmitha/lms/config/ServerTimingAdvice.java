@@ -0,0 +1,36 @@
+package com.sasmitha.lms.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@code Server-Timing} header just before a response body is written, which is the last
+ * point at which headers can still be changed.
+ */
+@RestControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+    @Value("${server-timing.enabled:true}")
+    private boolean headerEnabled;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return headerEnabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null && !response.getHeaders().containsKey(ServerTimingFilter.HEADER)) {
+            response.getHeaders().add(ServerTimingFilter.HEADER, timings.toHeaderValue());
+        }
+        return body;
+    }
+}
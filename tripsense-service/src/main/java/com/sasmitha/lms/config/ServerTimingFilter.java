@@ -0,0 +1,54 @@
+package com.sasmitha.lms.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link RequestTimings} for every request, sends it as a {@code Server-Timing} header when
+ * {@code server-timing.enabled} is set, and logs one {@code slow_request} line with the breakdown when
+ * the request took longer than {@code server-timing.slow-request-threshold-ms}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+    static final String HEADER = "Server-Timing";
+
+    private final boolean headerEnabled;
+    private final long slowRequestThresholdMs;
+
+    public ServerTimingFilter(@Value("${server-timing.enabled:true}") boolean headerEnabled,
+                              @Value("${server-timing.slow-request-threshold-ms:1000}") long slowRequestThresholdMs) {
+        this.headerEnabled = headerEnabled;
+        this.slowRequestThresholdMs = slowRequestThresholdMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start();
+        try {
+            filterChain.doFilter(request, response);
+            if (headerEnabled && !response.isCommitted() && !response.containsHeader(HEADER)) {
+                response.addHeader(HEADER, timings.toHeaderValue());
+            }
+        } finally {
+            RequestTimings.clear();
+            long elapsedMs = timings.elapsedNanos() / 1_000_000;
+            if (elapsedMs >= slowRequestThresholdMs) {
+                log.warn("slow_request method={} uri={} status={} total_ms={} {}",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        RequestTimings.millis(timings.elapsedNanos()), timings.toLogFields());
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.sasmitha.lms.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory view of the revoked tokens, checked by {@link JWTAuthenticationFilter} on every request.
+ * Revoked token IDs go into a Bloom filter sized by {@code jwt.revocation.expected-tokens}, so a token
+ * that was never revoked (the common case) is cleared after a few bit reads; only a filter hit looks at
+ * the exact set. Per-user cutoffs revoke every token a user was issued up to a point in time. Entries are
+ * dropped by {@link #purgeExpired()} once the tokens they cover have expired, rebuilding the filter.
+ * Writes are synchronized; reads take no lock.
+ */
+@Component
+public class TokenDenylist {
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Cutoff> userCutoffs = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public TokenDenylist(@Value("${jwt.revocation.expected-tokens:100000}") int expectedTokens,
+                         @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    public boolean isRevoked(JWTPrincipal principal) {
+        if (!userCutoffs.isEmpty() && principal.getIssuedAt() != null) {
+            Cutoff cutoff = userCutoffs.get(principal.getEmail());
+            if (cutoff != null && principal.getIssuedAt().getTime() <= cutoff.issuedBeforeMs()) {
+                return true;
+            }
+        }
+        String tokenId = principal.getTokenId();
+        return tokenId != null && filter.mightContain(tokenId) && revokedTokens.containsKey(tokenId);
+    }
+
+    public synchronized void revoke(String tokenId, long expiresAtMs) {
+        revokedTokens.merge(tokenId, expiresAtMs, Math::max);
+        filter.add(tokenId);
+    }
+
+    /**
+     * Revokes every token of {@code email} issued at or before {@code issuedBeforeMs}. JWT issue times only
+     * have second precision, so tokens issued later in that same second are revoked as well.
+     */
+    public synchronized void revokeIssuedBefore(String email, long issuedBeforeMs, long expiresAtMs) {
+        userCutoffs.merge(email, new Cutoff(issuedBeforeMs, expiresAtMs),
+                (current, next) -> current.issuedBeforeMs() >= next.issuedBeforeMs() ? current : next);
+    }
+
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        userCutoffs.values().removeIf(cutoff -> cutoff.expiresAtMs() <= now);
+        if (revokedTokens.values().removeIf(expiresAtMs -> expiresAtMs <= now)) {
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, revokedTokens.size()), falsePositiveRate);
+            revokedTokens.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+        }
+    }
+
+    public int size() {
+        return revokedTokens.size() + userCutoffs.size();
+    }
+
+    private record Cutoff(long issuedBeforeMs, long expiresAtMs) {
+    }
+
+    private static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.max(1, (optimalBits + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / Math.max(1, expectedInsertions) * Math.log(2)));
+        }
+
+        void add(String value) {
+            long hash = hash(value);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = index(hash, i);
+                long mask = 1L << bit;
+                bits.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = index(hash, i);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Double hashing (Kirsch-Mitzenmacher) over the two halves of one 64-bit hash.
+        private long index(long hash, int i) {
+            int combined = (int) hash + i * (int) (hash >>> 32);
+            return (combined < 0 ? ~combined : combined) % bitCount;
+        }
+
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.sasmitha.lms.controller;
 
+import com.sasmitha.lms.cache.EntityCache;
+import com.sasmitha.lms.cache.RecommendationCache;
+import com.sasmitha.lms.client.AIClient;
+import com.sasmitha.lms.dto.AIClientStatsResponse;
+import com.sasmitha.lms.dto.CacheStatsResponse;
 import com.sasmitha.lms.dto.RegisterResponse;
+import com.sasmitha.lms.dto.ImportResultResponse;
 import com.sasmitha.lms.service.AdminServiceImpl;
+import com.sasmitha.lms.service.ImportServiceImpl;
+import com.sasmitha.lms.service.TokenRevocationServiceImpl;
 import com.sasmitha.lms.dto.LoginRequest;
 import com.sasmitha.lms.dto.LoginResponse;
 import com.sasmitha.lms.dto.UserRegisterRequest;
@@ -11,12 +19,21 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @RequestMapping("/admin")
 @RequiredArgsConstructor
 @CrossOrigin
 public class AdminController {
     private final AdminServiceImpl adminServiceImpl;
+    private final ImportServiceImpl importServiceImpl;
+    private final RecommendationCache recommendationCache;
+    private final EntityCache entityCache;
+    private final AIClient aiClient;
+    private final TokenRevocationServiceImpl tokenRevocationServiceImpl;
 
     @PostMapping("/register")
     @PreAuthorize("hasAuthority('SYSTEM_ADMIN')")
@@ -30,8 +47,39 @@ public class AdminController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @PreAuthorize("hasAuthority('SYSTEM_ADMIN')")
+    public ImportResultResponse importUsers(InputStream body) throws IOException {
+        return importServiceImpl.importUsers(body);
+    }
+
+    @PostMapping("/users/{email}/revoke-tokens")
+    @PreAuthorize("hasAuthority('SYSTEM_ADMIN')")
+    public ResponseEntity<Void> revokeTokens(@PathVariable String email) {
+        tokenRevocationServiceImpl.revokeAll(email);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/auth/login")
     public LoginResponse login(@RequestBody LoginRequest loginRequest) {
         return adminServiceImpl.loginUser(loginRequest);
     }
+
+    @GetMapping("/cache/recommendations")
+    @PreAuthorize("hasAuthority('SYSTEM_ADMIN')")
+    public CacheStatsResponse recommendationCacheStats() {
+        return recommendationCache.stats();
+    }
+
+    @GetMapping("/cache/entities")
+    @PreAuthorize("hasAuthority('SYSTEM_ADMIN')")
+    public List<CacheStatsResponse> entityCacheStats() {
+        return entityCache.stats();
+    }
+
+    @GetMapping("/ai/client")
+    @PreAuthorize("hasAuthority('SYSTEM_ADMIN')")
+    public AIClientStatsResponse aiClientStats() {
+        return aiClient.stats();
+    }
 }
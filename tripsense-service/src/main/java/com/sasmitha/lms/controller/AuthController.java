@@ -3,7 +3,10 @@ package com.sasmitha.lms.controller;
 import com.sasmitha.lms.dto.LoginRequest;
 import com.sasmitha.lms.dto.LoginResponse;
 import com.sasmitha.lms.service.AdminServiceImpl;
+import com.sasmitha.lms.service.TokenRevocationServiceImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -12,9 +15,16 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin
 public class AuthController {
     private final AdminServiceImpl adminServiceImpl;
+    private final TokenRevocationServiceImpl tokenRevocationServiceImpl;
 
     @PostMapping("/login")
     public LoginResponse login(@RequestBody LoginRequest loginRequest) {
         return adminServiceImpl.loginUser(loginRequest);
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        tokenRevocationServiceImpl.logout(authorization);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,12 +1,19 @@
 package com.sasmitha.lms.controller;
 
+import com.sasmitha.lms.dto.PreferenceFilter;
 import com.sasmitha.lms.dto.PreferenceRequest;
 import com.sasmitha.lms.dto.PreferenceResponse;
 import com.sasmitha.lms.dto.UserPreferenceAIResponse;
 import com.sasmitha.lms.service.PreferenceServiceImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/preferences")
@@ -15,13 +22,30 @@ import org.springframework.web.bind.annotation.*;
 public class PreferenceController {
     private final PreferenceServiceImpl preferenceService;
 
+    @Value("${preferences.stream.timeout-ms:30000}")
+    private long streamTimeoutMs;
+
     @PostMapping
     public ResponseEntity<PreferenceResponse> create(@RequestBody PreferenceRequest preferenceRequest) {
         return ResponseEntity.ok(preferenceService.create(preferenceRequest));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<UserPreferenceAIResponse> getByUserId(@PathVariable Long userId) {
-        return ResponseEntity.ok(preferenceService.getByUserId(userId));
+    public ResponseEntity<UserPreferenceAIResponse> getByUserId(@PathVariable Long userId, PreferenceFilter filter, WebRequest request) {
+        // checkNotModified also sets the ETag header, on the 304 and on the full response alike
+        UserPreferenceAIResponse response = preferenceService.getByUserId(userId, filter, request::checkNotModified);
+        if (response == null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(response);
+    }
+
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamByUserId(@PathVariable Long userId, PreferenceFilter filter) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        preferenceService.streamByUserId(userId, filter, emitter);
+        return emitter;
     }
 }
@@ -5,9 +5,11 @@ import com.sasmitha.lms.dto.UserDetailResponse;
 import com.sasmitha.lms.dto.UserRegisterRequest;
 import com.sasmitha.lms.service.UserServiceImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/users")
@@ -28,8 +30,16 @@ public class UserController {
     }
 
     @GetMapping("/{email}")
-    public ResponseEntity<UserDetailResponse> getByEmail(@PathVariable String email) {
-        return ResponseEntity.ok(userServiceImpl.getByEmail(email));
+    public ResponseEntity<UserDetailResponse> getByEmail(@PathVariable String email, WebRequest request) {
+        UserDetailResponse user = userServiceImpl.getByEmail(email);
+        String eTag = userServiceImpl.getETag(user);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(user);
     }
 }
 
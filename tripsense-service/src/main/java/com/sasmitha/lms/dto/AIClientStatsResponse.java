@@ -0,0 +1,17 @@
+package com.sasmitha.lms.dto;
+
+import lombok.*;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class AIClientStatsResponse {
+    private String circuitState;
+    private int consecutiveFailures;
+    private long rejectedByCircuit;
+    private long rejectedByBulkhead;
+    private int activeCalls;
+    private int maxConcurrentCalls;
+}
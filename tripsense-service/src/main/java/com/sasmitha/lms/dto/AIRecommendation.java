@@ -0,0 +1,13 @@
+package com.sasmitha.lms.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record AIRecommendation(String title,
+                               String location,
+                               String category,
+                               Double estimatedCost,
+                               Double estimatedDistanceKm,
+                               Double durationHours,
+                               Double score) {
+}
@@ -0,0 +1,9 @@
+package com.sasmitha.lms.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDate;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record AIRecommendationSummary(Integer count, LocalDate startDate, LocalDate endDate) {
+}
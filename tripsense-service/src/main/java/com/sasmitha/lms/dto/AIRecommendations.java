@@ -0,0 +1,13 @@
+package com.sasmitha.lms.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Response of the AI service's {@code POST /api/recomendations}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record AIRecommendations(List<AIRecommendation> recommendations, AIRecommendationSummary summary)
+        implements RecommendationPayload {
+}
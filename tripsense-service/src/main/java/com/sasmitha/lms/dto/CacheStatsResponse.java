@@ -0,0 +1,21 @@
+package com.sasmitha.lms.dto;
+
+import lombok.*;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class CacheStatsResponse {
+    private String name;
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,14 @@
+package com.sasmitha.lms.dto;
+
+import lombok.*;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ImportErrorResponse {
+    private long line;
+    private String email;
+    private String error;
+}
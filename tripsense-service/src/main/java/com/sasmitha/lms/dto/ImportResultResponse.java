@@ -0,0 +1,19 @@
+package com.sasmitha.lms.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ImportResultResponse {
+    private long linesRead;
+    private long usersImported;
+    private long preferencesImported;
+    private long errorCount;
+    private List<ImportErrorResponse> errors = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.sasmitha.lms.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString(exclude = "password")
+public class ImportUserRequest {
+    private String role;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String password;
+    private List<PreferenceRequest> preferences;
+}
@@ -0,0 +1,20 @@
+package com.sasmitha.lms.dto;
+
+import lombok.*;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class PreferenceFilter {
+    private String cursor;
+    private Integer size;
+    private boolean upcoming;
+    private String category;
+    private String location;
+
+    public boolean hasCriteria() {
+        return upcoming || category != null || location != null;
+    }
+}
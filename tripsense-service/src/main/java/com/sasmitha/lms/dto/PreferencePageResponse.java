@@ -0,0 +1,15 @@
+package com.sasmitha.lms.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class PreferencePageResponse {
+    private List<PreferenceResponse> preferences;
+    private String nextCursor;
+}
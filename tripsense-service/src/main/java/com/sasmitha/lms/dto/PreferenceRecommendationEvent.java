@@ -0,0 +1,13 @@
+package com.sasmitha.lms.dto;
+
+import lombok.*;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class PreferenceRecommendationEvent {
+    private Long preferenceId;
+    private RecommendationResult result;
+}
@@ -0,0 +1,27 @@
+package com.sasmitha.lms.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * An AI service response kept exactly as received; it is written into responses as raw JSON without
+ * being parsed into objects again.
+ */
+@JsonSerialize(using = RawRecommendations.Serializer.class)
+public record RawRecommendations(String json) implements RecommendationPayload {
+
+    public static class Serializer extends StdSerializer<RawRecommendations> {
+        public Serializer() {
+            super(RawRecommendations.class);
+        }
+
+        @Override
+        public void serialize(RawRecommendations value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeRawValue(value.json());
+        }
+    }
+}
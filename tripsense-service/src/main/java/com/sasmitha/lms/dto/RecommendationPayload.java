@@ -0,0 +1,8 @@
+package com.sasmitha.lms.dto;
+
+/**
+ * The body of an AI service recommendation response: either parsed into {@link AIRecommendations} or kept
+ * as the original JSON in {@link RawRecommendations} when {@code ai.client.passthrough} is on.
+ */
+public sealed interface RecommendationPayload permits AIRecommendations, RawRecommendations {
+}
@@ -0,0 +1,14 @@
+package com.sasmitha.lms.dto;
+
+import com.sasmitha.lms.util.RecommendationStatus;
+import lombok.*;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class RecommendationResult {
+    private RecommendationPayload recommendations;
+    private RecommendationStatus status;
+}
@@ -1,5 +1,6 @@
 package com.sasmitha.lms.dto;
 
+import com.sasmitha.lms.util.RecommendationStatus;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,5 +11,8 @@ import java.util.Map;
 @Getter
 public class UserPreferenceAIResponse {
     private List<PreferenceResponse> preferences;
-    private Map<String,Object> aiRecommendations;
+    private String nextCursor;
+    private RecommendationPayload aiRecommendations;
+    private RecommendationStatus aiStatus;
+    private Map<Long, RecommendationResult> recommendationsByPreference;
 }
@@ -0,0 +1,13 @@
+package com.sasmitha.lms.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class PreferenceSavedEvent {
+    private final Long preferenceId;
+    private final Long userId;
+}
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "preferences")
+@Table(name = "preferences", indexes = {
+        @Index(name = "idx_preferences_user_created", columnList = "user_id, create_at, id"),
+        @Index(name = "idx_preferences_user_start", columnList = "user_id, start_date")
+})
 @Setter
 @Getter
 @AllArgsConstructor
@@ -24,7 +27,8 @@ public class Preference {
     @ElementCollection
     @CollectionTable(
             name = "preference_categories",
-            joinColumns = @JoinColumn(name = "preference_id")
+            joinColumns = @JoinColumn(name = "preference_id"),
+            indexes = @Index(name = "idx_preference_categories", columnList = "preference_id, category")
     )
     @Column(name = "category")
     private List<String> categories;
@@ -32,7 +36,8 @@ public class Preference {
     @ElementCollection
     @CollectionTable(
             name = "preference_locations",
-            joinColumns = @JoinColumn(name = "preference_id")
+            joinColumns = @JoinColumn(name = "preference_id"),
+            indexes = @Index(name = "idx_preference_locations", columnList = "preference_id, location")
     )
     @Column(name = "location")
     private List<String> locations;
@@ -40,6 +45,7 @@ public class Preference {
     private LocalDate endDate;
     private Integer maxDistanceKm;
     private Double maxBudget;
+    @Column(nullable = false)
     private LocalDateTime createAt;
     private LocalDateTime updateAt;
 
@@ -0,0 +1,44 @@
+package com.sasmitha.lms.model;
+
+import com.sasmitha.lms.util.RecommendationStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "recommendations")
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class Recommendation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "preference_id", nullable = false, unique = true)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Preference preference;
+
+    // Declared as the migrated type: @Lob would make validation expect a clob, which H2 reports as varchar
+    @Column(columnDefinition = "longtext")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 20)
+    private RecommendationStatus status;
+
+    // Preference.updateAt the payload was computed from; a mismatch means the payload is stale.
+    private LocalDateTime preferenceVersion;
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,32 @@
+package com.sasmitha.lms.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_tokens", uniqueConstraints = @UniqueConstraint(name = "uk_revoked_tokens_token_id", columnNames = "token_id"))
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevokedToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The revoked token's jti; null when the row revokes every token of email issued up to issuedBefore.
+    @Column(length = 64)
+    private String tokenId;
+    private String email;
+    private LocalDateTime issuedBefore;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+}
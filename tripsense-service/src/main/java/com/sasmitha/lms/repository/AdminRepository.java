@@ -1,12 +1,26 @@
 package com.sasmitha.lms.repository;
 
 import com.sasmitha.lms.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface AdminRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    @EntityGraph(attributePaths = "role")
+    Optional<User> findWithRoleByEmail(String email);
+
+    @Transactional
+    @Modifying
+    // Only replaces oldHash, so a password changed since it was read is never overwritten; 0 rows means it was.
+    @Query("update User u set u.password = :password where u.id = :id and u.password = :oldHash")
+    int updatePassword(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("password") String password);
 }
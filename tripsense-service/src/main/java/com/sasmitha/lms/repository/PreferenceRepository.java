@@ -1,13 +1,47 @@
 package com.sasmitha.lms.repository;
 
 import com.sasmitha.lms.model.Preference;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PreferenceRepository extends JpaRepository<Preference, Long> {
-    List<Preference> findByUserId(Long userId);
-}
+    // Derived findByUserId joins users to compare users.id, which makes H2 scan preferences; compare the FK instead.
+    @Query("select p from Preference p where p.user.id = :userId")
+    List<Preference> findByUserId(@Param("userId") Long userId);
+
+    // Keyset page over (createAt, id) descending, walking the (user_id, create_at, id) index instead of an offset scan.
+    @Query("""
+            select p.id from Preference p
+            where p.user.id = :userId
+              and (:cursorCreateAt is null or p.createAt < :cursorCreateAt
+                   or (p.createAt = :cursorCreateAt and p.id < :cursorId))
+              and (:fromDate is null or p.startDate >= :fromDate)
+              and (:category is null or :category member of p.categories)
+              and (:location is null or :location member of p.locations)
+            order by p.createAt desc, p.id desc
+            """)
+    List<Long> findPageIds(@Param("userId") Long userId,
+                           @Param("cursorCreateAt") LocalDateTime cursorCreateAt,
+                           @Param("cursorId") Long cursorId,
+                           @Param("fromDate") LocalDate fromDate,
+                           @Param("category") String category,
+                           @Param("location") String location,
+                           Pageable pageable);
 
+    // Both collections are bags, so they cannot be fetched in one query; load categories with the
+    // preferences and then locations for the same entities, giving two queries regardless of count.
+    @Query("select p from Preference p left join fetch p.categories where p.id in :ids")
+    List<Preference> findWithCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p from Preference p left join fetch p.locations where p in :preferences")
+    List<Preference> fetchLocations(@Param("preferences") List<Preference> preferences);
+}
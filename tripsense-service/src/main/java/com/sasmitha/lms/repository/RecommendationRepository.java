@@ -0,0 +1,21 @@
+package com.sasmitha.lms.repository;
+
+import com.sasmitha.lms.model.Recommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecommendationRepository extends JpaRepository<Recommendation, Long> {
+    // Written out because the derived queries join preferences and filter on preferences.id, scanning recommendations.
+    @Query("select r from Recommendation r where r.preference.id = :preferenceId")
+    Optional<Recommendation> findByPreferenceId(@Param("preferenceId") Long preferenceId);
+
+    @Query("select r from Recommendation r where r.preference.id in :preferenceIds")
+    List<Recommendation> findByPreferenceIdIn(@Param("preferenceIds") Collection<Long> preferenceIds);
+}
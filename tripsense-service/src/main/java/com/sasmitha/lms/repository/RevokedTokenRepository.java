@@ -0,0 +1,24 @@
+package com.sasmitha.lms.repository;
+
+import com.sasmitha.lms.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    List<RevokedToken> findByRevokedAtAfter(LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,29 +1,156 @@
 package com.sasmitha.lms.service;
 
+import com.sasmitha.lms.cache.RecommendationCache;
+import com.sasmitha.lms.client.AIClient;
+import com.sasmitha.lms.config.RequestTimings;
+import com.sasmitha.lms.dto.RecommendationPayload;
+import com.sasmitha.lms.dto.RecommendationResult;
 import com.sasmitha.lms.model.Preference;
-import lombok.RequiredArgsConstructor;
+import com.sasmitha.lms.util.RecommendationStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class AIServiceImpl {
-    private final RestTemplate restTemplate;
-    public static final String AI_URL = "http://localhost:3000/api/recomendations";
+    private final AIClient aiClient;
+    private final RecommendationCache recommendationCache;
+    private final int batchParallelism;
+    private final String aiUrl;
+    private final MeterRegistry meterRegistry;
 
-    public Map<String, Object> getRecommendations(List<Preference> preferences) {
+    public AIServiceImpl(AIClient aiClient,
+                         RecommendationCache recommendationCache,
+                         @Value("${ai.client.batch-parallelism:4}") int batchParallelism,
+                         @Value("${ai.url:http://localhost:3000/api/recomendations}") String aiUrl,
+                         MeterRegistry meterRegistry) {
+        this.aiClient = aiClient;
+        this.recommendationCache = recommendationCache;
+        this.aiUrl = aiUrl;
+        this.meterRegistry = meterRegistry;
+        this.batchParallelism = Math.max(1, batchParallelism);
+    }
+
+    public Map<Long, RecommendationResult> getRecommendations(Long userId, List<Preference> preferences) {
+        return getRecommendationsAsync(userId, preferences).join();
+    }
+
+    /**
+     * Recommends for every preference, keyed by preference ID in the given order. Payloads are built on
+     * the calling thread (so lazy collections are read inside its transaction); cache misses are then
+     * fanned out to the AI service in at most {@code ai.client.batch-parallelism} parallel lanes, and
+     * preferences with identical fingerprints share one call. Never completes exceptionally: when the
+     * AI service is unavailable each result falls back to a stale cached value or to no recommendations.
+     */
+    public CompletableFuture<Map<Long, RecommendationResult>> getRecommendationsAsync(Long userId, List<Preference> preferences) {
+        return getRecommendationsAsync(userId, preferences, (preferenceId, result) -> {
+        });
+    }
+
+    /**
+     * Same as {@link #getRecommendationsAsync(Long, List)}, additionally calling {@code listener} for each
+     * preference as soon as its own result is available (on whichever thread completed it).
+     */
+    public CompletableFuture<Map<Long, RecommendationResult>> getRecommendationsAsync(Long userId, List<Preference> preferences,
+                                                                                      BiConsumer<Long, RecommendationResult> listener) {
+        long startedAt = System.nanoTime();
+        RequestTimings timings = RequestTimings.current();
+        Map<Long, String> keysByPreference = new LinkedHashMap<>();
+        Map<String, CompletableFuture<RecommendationResult>> resultsByKey = new HashMap<>();
+        Map<String, Map<String, Object>> pendingPayloads = new LinkedHashMap<>();
+
+        for (Preference preference : preferences) {
+            String key = RecommendationCache.fingerprint(preference);
+            keysByPreference.put(preference.getId(), key);
+            if (resultsByKey.containsKey(key) || pendingPayloads.containsKey(key)) {
+                continue;
+            }
+            RecommendationPayload cached = recommendationCache.getIfPresent(key);
+            if (cached != null) {
+                resultsByKey.put(key, CompletableFuture.completedFuture(new RecommendationResult(cached, RecommendationStatus.CACHED)));
+            } else {
+                pendingPayloads.put(key, toPayload(preference));
+            }
+        }
+
+        List<List<String>> lanes = new ArrayList<>();
+        int lane = 0;
+        for (String key : pendingPayloads.keySet()) {
+            if (lanes.size() < batchParallelism) {
+                lanes.add(new ArrayList<>());
+            }
+            lanes.get(lane++ % batchParallelism).add(key);
+        }
+        for (List<String> keys : lanes) {
+            CompletableFuture<RecommendationResult> previous = CompletableFuture.completedFuture(null);
+            for (String key : keys) {
+                Map<String, Object> payload = pendingPayloads.get(key);
+                previous = previous.thenCompose(ignored -> fetch(userId, key, payload));
+                resultsByKey.put(key, previous);
+            }
+        }
+
+        List<CompletableFuture<?>> notified = new ArrayList<>();
+        keysByPreference.forEach((preferenceId, key) ->
+                notified.add(resultsByKey.get(key).thenAccept(result -> {
+                    meterRegistry.timer("tripsense.ai.recommendations", "status", result.getStatus().name())
+                            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    listener.accept(preferenceId, result);
+                })));
+
+        return CompletableFuture.allOf(notified.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    if (timings != null) {
+                        timings.add("ai", System.nanoTime() - startedAt);
+                    }
+                    Map<Long, RecommendationResult> results = new LinkedHashMap<>();
+                    keysByPreference.forEach((preferenceId, key) -> results.put(preferenceId, resultsByKey.get(key).join()));
+                    return results;
+                });
+    }
+
+    private CompletableFuture<RecommendationResult> fetch(Long userId, String key, Map<String, Object> payload) {
+        return aiClient.postAsync(aiUrl, payload)
+                .thenApply(recommendations -> {
+                    if (recommendations != null) {
+                        recommendationCache.put(key, userId, recommendations);
+                    }
+                    return new RecommendationResult(recommendations, RecommendationStatus.FRESH);
+                })
+                .exceptionally(error -> fallback(key, error));
+    }
+
+    private Map<String, Object> toPayload(Preference preference) {
         Map<String, Object> payload = new HashMap<>();
-        payload.put("categories", preferences.get(0).getCategories());
-        payload.put("locations",  preferences.get(0).getLocations());
-        payload.put("startDate", preferences.get(0).getStartDate());
-        payload.put("endDate", preferences.get(0).getEndDate());
-        payload.put("maxDistanceKm", preferences.get(0).getMaxDistanceKm());
-        payload.put("maxBudget", preferences.get(0).getMaxBudget());
-
-        return restTemplate.postForObject(AI_URL,  payload, Map.class);
+        payload.put("categories", listOf(preference.getCategories()));
+        payload.put("locations", listOf(preference.getLocations()));
+        payload.put("startDate", preference.getStartDate());
+        payload.put("endDate", preference.getEndDate());
+        payload.put("maxDistanceKm", preference.getMaxDistanceKm());
+        payload.put("maxBudget", preference.getMaxBudget());
+        return payload;
+    }
+
+    // A missing collection is sent as empty, matching how RecommendationCache keys it.
+    private static List<String> listOf(Collection<String> values) {
+        return values == null ? new ArrayList<>() : new ArrayList<>(values);
+    }
+
+    private RecommendationResult fallback(String key, Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        log.warn("AI recommendations unavailable: {}", cause.getMessage());
+
+        RecommendationPayload stale = recommendationCache.getStale(key);
+        if (stale != null) {
+            return new RecommendationResult(stale, RecommendationStatus.STALE);
+        }
+        return new RecommendationResult(null, RecommendationStatus.UNAVAILABLE);
     }
 }
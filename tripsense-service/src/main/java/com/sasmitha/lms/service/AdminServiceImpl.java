@@ -1,59 +1,86 @@
 package com.sasmitha.lms.service;
 
+import com.sasmitha.lms.cache.EntityCache;
 import com.sasmitha.lms.config.JWTUtil;
 import com.sasmitha.lms.dto.LoginRequest;
 import com.sasmitha.lms.dto.LoginResponse;
 import com.sasmitha.lms.dto.RegisterResponse;
 import com.sasmitha.lms.dto.UserRegisterRequest;
-import com.sasmitha.lms.model.Role;
 import com.sasmitha.lms.model.User;
 import com.sasmitha.lms.repository.AdminRepository;
-import com.sasmitha.lms.repository.RoleRepository;
+import com.sasmitha.lms.util.Emails;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@Transactional
+@Slf4j
 public class AdminServiceImpl {
     private final AdminRepository adminRepository;
-    private final RoleRepository roleRepository;
+    private final EntityCache entityCache;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
     private final JWTUtil jwtUtil;
+    private final PasswordServiceImpl passwordService;
 
     public RegisterResponse create(UserRegisterRequest userRegisterRequest) {
-        if (adminRepository.findByEmail(userRegisterRequest.getEmail()).isPresent()) {
-            throw new RuntimeException(userRegisterRequest.getEmail() + " is already registered");
+        String email = Emails.normalize(userRegisterRequest.getEmail());
+        if (entityCache.findUserByEmail(email).isPresent()) {
+            throw new RuntimeException(email + " is already registered");
         }
-        Role roleFromDB = roleRepository.findByName(userRegisterRequest.getRole())
+        EntityCache.CachedRole roleFromDB = entityCache.findRoleByName(userRegisterRequest.getRole())
                 .orElseThrow(() -> new RuntimeException(userRegisterRequest.getRole() + "Role not found"));
 
         User user = new User();
-        user.setRole(roleFromDB);
+        user.setRole(entityCache.roleReference(roleFromDB));
         user.setFirstName(userRegisterRequest.getFirstName());
         user.setLastName(userRegisterRequest.getLastName());
-        user.setEmail(userRegisterRequest.getEmail());
+        user.setEmail(email);
         user.setPassword(bCryptPasswordEncoder.encode(userRegisterRequest.getPassword()));
         adminRepository.save(user);
+        entityCache.evictUser(email);
 
         return new RegisterResponse(
                 user.getEmail(),
-                roleFromDB.getName()
+                roleFromDB.name()
         );
     }
 
+    // No transaction: the BCrypt check must not hold a pooled connection while it waits for the login executor.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponse loginUser(LoginRequest loginRequest) {
-        User user = adminRepository.findByEmail(loginRequest.getEmail()).orElse(null);
+        String email = Emails.normalize(loginRequest.getEmail());
+        EntityCache.CachedUser user = entityCache.findUserByEmail(email).orElse(null);
 
         if (user == null) {
             return new LoginResponse("User not found", null);
         }
 
-        if (!bCryptPasswordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordService.matches(loginRequest.getPassword(), user.password())) {
             return new LoginResponse("Invalid password", null);
         }
-        String token = jwtUtil.generateToken(loginRequest.getEmail(), user.getRole().getName());
-        return new LoginResponse(user.getEmail(), token);
+        if (passwordService.needsRehash(user.password())) {
+            Long userId = user.id();
+            String checkedHash = user.password();
+            passwordService.encodeAsync(loginRequest.getPassword())
+                    .thenAccept(encoded -> {
+                        if (adminRepository.updatePassword(userId, checkedHash, encoded) == 0) {
+                            log.debug("Password of user {} changed since login, skipping rehash", userId);
+                            return;
+                        }
+                        entityCache.evictUser(email);
+                    })
+                    .exceptionally(error -> {
+                        log.warn("Could not rehash password for user {}: {}", userId, error.getMessage());
+                        return null;
+                    });
+        }
+        String token = jwtUtil.generateToken(email, user.roleName());
+        return new LoginResponse(user.email(), token);
     }
 }
\ No newline at end of file
@@ -0,0 +1,316 @@
+package com.sasmitha.lms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sasmitha.lms.cache.EntityCache;
+import com.sasmitha.lms.dto.ImportErrorResponse;
+import com.sasmitha.lms.dto.ImportResultResponse;
+import com.sasmitha.lms.dto.ImportUserRequest;
+import com.sasmitha.lms.dto.PreferenceRequest;
+import com.sasmitha.lms.util.Emails;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk import of users and their preferences from an NDJSON stream (one {@link ImportUserRequest} per line).
+ * Lines are processed in chunks: passwords are BCrypt-encoded in parallel, then users, preferences and both
+ * collection tables are written with JDBC batch inserts in one transaction per chunk. The entities use
+ * IDENTITY keys, which disable Hibernate's insert batching, so IDs come back through the driver's batched
+ * generated keys instead. Invalid rows are reported by line number and skipped; when a chunk fails as a
+ * whole, its rows are retried one per transaction so the failure is reported against the line that caused it.
+ * Emails are normalized with {@link Emails} before the duplicate checks and the insert.
+ * <p>
+ * Import encoding has its own pool rather than the login executor, whose short queue would reject a chunk.
+ * By default the pool gets the cores the login pool ({@code security.login.threads}) leaves over, so a large
+ * import cannot starve logins of CPU.
+ */
+@Service
+@Slf4j
+public class ImportServiceImpl {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String INSERT_USER = "insert into users (role_id, first_name, last_name, email, password, create_at, update_at) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PREFERENCE = "insert into preferences (user_id, start_date, end_date, max_distance_km, max_budget, create_at, update_at) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CATEGORY = "insert into preference_categories (preference_id, category) values (?, ?)";
+    private static final String INSERT_LOCATION = "insert into preference_locations (preference_id, location) values (?, ?)";
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityCache entityCache;
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService encoder;
+    private final int chunkSize;
+
+    public ImportServiceImpl(ObjectMapper objectMapper,
+                             JdbcTemplate jdbcTemplate,
+                             NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                             EntityCache entityCache,
+                             BCryptPasswordEncoder bCryptPasswordEncoder,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${import.chunk-size:500}") int chunkSize,
+                             @Value("${import.password-threads:0}") int passwordThreads,
+                             @Value("${security.login.threads:4}") int loginThreads) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.entityCache = entityCache;
+        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        int threads = passwordThreads > 0
+                ? passwordThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - loginThreads);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.encoder = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "import-bcrypt-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public ImportResultResponse importUsers(InputStream body) throws IOException {
+        ImportResultResponse result = new ImportResultResponse();
+        Set<String> seenEmails = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setLinesRead(result.getLinesRead() + 1);
+
+                ImportUserRequest request;
+                try {
+                    request = objectMapper.readValue(line, ImportUserRequest.class);
+                } catch (JsonProcessingException e) {
+                    reportError(result, lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+                if (request.getEmail() == null || request.getEmail().isBlank()) {
+                    reportError(result, lineNumber, null, "Email is required");
+                    continue;
+                }
+                request.setEmail(Emails.normalize(request.getEmail()));
+                if (request.getPassword() == null || request.getPassword().isEmpty()) {
+                    reportError(result, lineNumber, request.getEmail(), "Password is required");
+                    continue;
+                }
+                String roleName = request.getRole() == null ? "USER" : request.getRole();
+                Optional<EntityCache.CachedRole> role = entityCache.findRoleByName(roleName);
+                if (role.isEmpty()) {
+                    reportError(result, lineNumber, request.getEmail(), roleName + " Role not found");
+                    continue;
+                }
+                if (!seenEmails.add(request.getEmail())) {
+                    reportError(result, lineNumber, request.getEmail(), "Duplicate email in import");
+                    continue;
+                }
+
+                chunk.add(new ImportRow(lineNumber, request, role.get().id()));
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, result);
+        }
+        return result;
+    }
+
+    private void flush(List<ImportRow> chunk, ImportResultResponse result) {
+        // lower() also matches accounts stored before emails were normalized, whatever the column's collation
+        Set<String> existing = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "select lower(email) from users where lower(email) in (:emails)",
+                Map.of("emails", chunk.stream().map(row -> row.request().getEmail()).toList()),
+                String.class));
+        List<ImportRow> rows = new ArrayList<>();
+        for (ImportRow row : chunk) {
+            if (existing.contains(row.request().getEmail())) {
+                reportError(result, row.line(), row.request().getEmail(), row.request().getEmail() + " is already registered");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<String> passwords;
+        try {
+            passwords = encodePasswords(rows);
+        } catch (ExecutionException e) {
+            rows.forEach(row -> reportError(result, row.line(), row.request().getEmail(), "Password encoding failed"));
+            return;
+        }
+
+        try {
+            long preferences = transactionTemplate.execute(status -> insertChunk(rows, passwords));
+            result.setUsersImported(result.getUsersImported() + rows.size());
+            result.setPreferencesImported(result.getPreferencesImported() + preferences);
+        } catch (RuntimeException e) {
+            log.warn("Import chunk starting at line {} failed, retrying its rows one by one", rows.get(0).line(), e);
+            insertRowByRow(rows, passwords, result);
+        }
+    }
+
+    private void insertRowByRow(List<ImportRow> rows, List<String> passwords, ImportResultResponse result) {
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            List<String> password = List.of(passwords.get(i));
+            try {
+                long preferences = transactionTemplate.execute(status -> insertChunk(List.of(row), password));
+                result.setUsersImported(result.getUsersImported() + 1);
+                result.setPreferencesImported(result.getPreferencesImported() + preferences);
+            } catch (RuntimeException e) {
+                reportError(result, row.line(), row.request().getEmail(), "Insert failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private List<String> encodePasswords(List<ImportRow> rows) throws ExecutionException {
+        List<Callable<String>> tasks = rows.stream()
+                .<Callable<String>>map(row -> () -> bCryptPasswordEncoder.encode(row.request().getPassword()))
+                .toList();
+        try {
+            List<String> encoded = new ArrayList<>(rows.size());
+            for (Future<String> future : encoder.invokeAll(tasks)) {
+                encoded.add(future.get());
+            }
+            return encoded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(e);
+        }
+    }
+
+    private long insertChunk(List<ImportRow> rows, List<String> passwords) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Long> userIds = batchInsert(INSERT_USER, rows.size(), (ps, i) -> {
+            ImportUserRequest request = rows.get(i).request();
+            ps.setLong(1, rows.get(i).roleId());
+            ps.setString(2, request.getFirstName());
+            ps.setString(3, request.getLastName());
+            ps.setString(4, request.getEmail());
+            ps.setString(5, passwords.get(i));
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+
+        List<Long> preferenceOwners = new ArrayList<>();
+        List<PreferenceRequest> preferences = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            List<PreferenceRequest> userPreferences = rows.get(i).request().getPreferences();
+            if (userPreferences != null) {
+                for (PreferenceRequest preference : userPreferences) {
+                    preferenceOwners.add(userIds.get(i));
+                    preferences.add(preference);
+                }
+            }
+        }
+        if (preferences.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> preferenceIds = batchInsert(INSERT_PREFERENCE, preferences.size(), (ps, i) -> {
+            PreferenceRequest preference = preferences.get(i);
+            ps.setLong(1, preferenceOwners.get(i));
+            ps.setObject(2, preference.getStartDate());
+            ps.setObject(3, preference.getEndDate());
+            ps.setObject(4, preference.getMaxDistanceKm(), Types.INTEGER);
+            ps.setObject(5, preference.getMaxBudget(), Types.DOUBLE);
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+
+        List<Object[]> categories = new ArrayList<>();
+        List<Object[]> locations = new ArrayList<>();
+        for (int i = 0; i < preferences.size(); i++) {
+            Long preferenceId = preferenceIds.get(i);
+            Optional.ofNullable(preferences.get(i).getCategories())
+                    .ifPresent(values -> values.forEach(value -> categories.add(new Object[]{preferenceId, value})));
+            Optional.ofNullable(preferences.get(i).getLocations())
+                    .ifPresent(values -> values.forEach(value -> locations.add(new Object[]{preferenceId, value})));
+        }
+        if (!categories.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CATEGORY, categories);
+        }
+        if (!locations.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_LOCATION, locations);
+        }
+        return preferences.size();
+    }
+
+    private List<Long> batchInsert(String sql, int size, RowSetter setter) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setter.set(ps, i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return size;
+                    }
+                },
+                keyHolder);
+
+        List<Long> ids = keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+        if (ids.size() != size) {
+            throw new IllegalStateException("Expected " + size + " generated keys but got " + ids.size());
+        }
+        return ids;
+    }
+
+    private void reportError(ImportResultResponse result, long line, String email, String error) {
+        result.setErrorCount(result.getErrorCount() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ImportErrorResponse(line, email, error));
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        encoder.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    private record ImportRow(long line, ImportUserRequest request, Long roleId) {
+    }
+}
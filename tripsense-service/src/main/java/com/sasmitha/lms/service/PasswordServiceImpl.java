@@ -0,0 +1,112 @@
+package com.sasmitha.lms.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt verification on a dedicated, bounded executor so a login storm can only use
+ * {@code security.login.threads} cores. When the queue is full the caller gets 429; when a queued
+ * check does not finish within {@code security.login.timeout-ms} the caller gets 503.
+ */
+@Service
+@Slf4j
+public class PasswordServiceImpl {
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final int strength;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordServiceImpl(BCryptPasswordEncoder bCryptPasswordEncoder,
+                               @Value("${security.bcrypt.strength:10}") int strength,
+                               @Value("${security.login.threads:4}") int threads,
+                               @Value("${security.login.queue-size:64}") int queueSize,
+                               @Value("${security.login.timeout-ms:5000}") long timeoutMs,
+                               MeterRegistry meterRegistry) {
+        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.strength = strength;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-bcrypt-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        Gauge.builder("tripsense.password.queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> bcryptTimer("matches").recordCallable(() -> bCryptPasswordEncoder.matches(rawPassword, encodedPassword)));
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("tripsense.password.rejected", "reason", "queue_full").increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, try again shortly");
+        }
+
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            meterRegistry.counter("tripsense.password.rejected", "reason", "timeout").increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Login is temporarily unavailable");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Login is temporarily unavailable");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Encodes on the login executor; completes exceptionally instead of queueing when it is saturated.
+     */
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> bcryptTimer("encode").record(() -> bCryptPasswordEncoder.encode(rawPassword)), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * True when the stored hash was produced with a different cost factor than the configured one,
+     * in either direction, so that a successful login can re-encode it.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            log.warn("Unrecognized BCrypt hash format");
+            return false;
+        }
+    }
+
+    private Timer bcryptTimer(String operation) {
+        return meterRegistry.timer("tripsense.password.bcrypt", "operation", operation);
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdown();
+    }
+}
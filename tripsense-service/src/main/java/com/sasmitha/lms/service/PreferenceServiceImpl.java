@@ -1,30 +1,58 @@
 package com.sasmitha.lms.service;
 
+import com.sasmitha.lms.cache.EntityCache;
+import com.sasmitha.lms.cache.RecommendationCache;
+import com.sasmitha.lms.config.RequestTimings;
+import com.sasmitha.lms.dto.PreferenceFilter;
+import com.sasmitha.lms.dto.PreferencePageResponse;
+import com.sasmitha.lms.dto.PreferenceRecommendationEvent;
 import com.sasmitha.lms.dto.PreferenceRequest;
 import com.sasmitha.lms.dto.PreferenceResponse;
+import com.sasmitha.lms.dto.RecommendationResult;
 import com.sasmitha.lms.dto.UserPreferenceAIResponse;
+import com.sasmitha.lms.event.PreferenceSavedEvent;
 import com.sasmitha.lms.model.Preference;
-import com.sasmitha.lms.model.User;
-import com.sasmitha.lms.repository.AdminRepository;
+import com.sasmitha.lms.model.Recommendation;
 import com.sasmitha.lms.repository.PreferenceRepository;
+import com.sasmitha.lms.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class PreferenceServiceImpl {
     private final PreferenceRepository preferenceRepository;
-    private final AdminRepository adminRepository;
-    private final AIServiceImpl aiService;
+    private final EntityCache entityCache;
+    private final RecommendationServiceImpl recommendationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecommendationCache recommendationCache;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${preferences.page.default-size:20}")
+    private int defaultPageSize;
+    @Value("${preferences.page.max-size:100}")
+    private int maxPageSize;
 
     public PreferenceResponse create(PreferenceRequest preferenceRequest) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -33,7 +61,7 @@ public class PreferenceServiceImpl {
         }
 
         String email = auth.getPrincipal().toString();
-        User user = adminRepository.findByEmail(email).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        EntityCache.CachedUser user = entityCache.findUserByEmail(email).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
         Preference preference = new Preference();
         preference.setCategories(preferenceRequest.getCategories());
@@ -42,9 +70,11 @@ public class PreferenceServiceImpl {
         preference.setEndDate(preferenceRequest.getEndDate());
         preference.setMaxDistanceKm(preferenceRequest.getMaxDistanceKm());
         preference.setMaxBudget(preferenceRequest.getMaxBudget());
-        preference.setUser(user);
+        preference.setUser(entityCache.userReference(user));
 
         preferenceRepository.save(preference);
+        recommendationCache.invalidateUser(user.id());
+        eventPublisher.publishEvent(new PreferenceSavedEvent(preference.getId(), user.id()));
 
         PreferenceResponse preferenceResponse = new PreferenceResponse();
         preferenceResponse.setId(preference.getId());
@@ -54,37 +84,205 @@ public class PreferenceServiceImpl {
         preferenceResponse.setEndDate(preferenceRequest.getEndDate());
         preferenceResponse.setMaxDistanceKm(preferenceRequest.getMaxDistanceKm());
         preferenceResponse.setMaxBudget(preferenceRequest.getMaxBudget());
-        preferenceResponse.setUserId(user.getId());
+        preferenceResponse.setUserId(user.id());
         return preferenceResponse;
     }
 
-    public UserPreferenceAIResponse getByUserId(Long userId) {
-        List<Preference> preferences = preferenceRepository.findByUserId(userId);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserPreferenceAIResponse getByUserId(Long userId, PreferenceFilter filter) {
+        return getByUserId(userId, filter, eTag -> false);
+    }
+
+    /**
+     * Materializes the page and starts the recommendation lookups in a short read-only transaction, then
+     * waits for the AI service with no transaction (and so no pooled connection) held.
+     * <p>
+     * When every preference on the page has a current precomputed recommendation, a strong ETag is built from
+     * the loaded rows (IDs, {@code updateAt} stamps and recommendation versions) and passed to
+     * {@code notModified}; if that returns {@code true} this returns {@code null} before any response is built.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserPreferenceAIResponse getByUserId(Long userId, PreferenceFilter filter, Predicate<String> notModified) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        UserPreferenceAIResponse userPreferenceAIResponse = new UserPreferenceAIResponse();
+        CompletableFuture<Map<Long, RecommendationResult>> recommendations = readOnly.execute(status -> {
+            PreferencePage page = findPage(userId, filter);
+            List<Preference> preferences = page.preferences();
+
+            if (preferences.isEmpty()) {
+                if (filter.getCursor() != null || filter.hasCriteria()) {
+                    return CompletableFuture.completedFuture(Map.of());
+                }
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Preference not found");
+            }
+
+            Map<Long, Recommendation> stored = recommendationService.findStored(preferences);
+            String eTag = eTag(userId, filter, page, recommendationService.precomputedVersions(preferences, stored));
+            if (eTag != null && notModified.test(eTag)) {
+                return null;
+            }
 
-        if (preferences.isEmpty()) {
+            long mapStart = System.nanoTime();
+            userPreferenceAIResponse.setPreferences(preferences.stream().map(PreferenceServiceImpl::toResponse).toList());
+            RequestTimings.record("map", System.nanoTime() - mapStart);
+            userPreferenceAIResponse.setNextCursor(page.nextCursor());
+            return recommendationService.getRecommendationsAsync(userId, preferences, stored, (preferenceId, result) -> {
+            });
+        });
+        if (recommendations == null) {
+            return null;
+        }
+
+        Map<Long, RecommendationResult> results = recommendations.join();
+        if (userPreferenceAIResponse.getPreferences() == null) {
+            userPreferenceAIResponse.setPreferences(List.of());
+        } else {
+            RecommendationResult first = results.get(userPreferenceAIResponse.getPreferences().get(0).getId());
+            userPreferenceAIResponse.setAiRecommendations(first.getRecommendations());
+            userPreferenceAIResponse.setAiStatus(first.getStatus());
+        }
+        userPreferenceAIResponse.setRecommendationsByPreference(results);
+
+        return userPreferenceAIResponse;
+    }
+
+    /**
+     * Sends the user's preferences as a {@code preferences} event straight after the DB read, then one
+     * {@code recommendation} event per preference as AI results arrive, and finally a {@code complete} event.
+     */
+    @Transactional(readOnly = true)
+    public void streamByUserId(Long userId, PreferenceFilter filter, SseEmitter emitter) {
+        PreferencePage page = findPage(userId, filter);
+        List<Preference> preferences = page.preferences();
+
+        if (preferences.isEmpty() && filter.getCursor() == null && !filter.hasCriteria()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Preference not found");
         }
 
-        Map<String, Object> recommendations = aiService.getRecommendations(preferences);
-
-        List<PreferenceResponse> preferenceResponses = preferences.stream().map(pref -> {
-            PreferenceResponse resp = new PreferenceResponse();
-            resp.setId(pref.getId());
-            resp.setCategories(pref.getCategories());
-            resp.setLocations(pref.getLocations());
-            resp.setStartDate(pref.getStartDate());
-            resp.setEndDate(pref.getEndDate());
-            resp.setMaxDistanceKm(pref.getMaxDistanceKm());
-            resp.setMaxBudget(pref.getMaxBudget());
-            resp.setCreateAt(pref.getCreateAt());
-            resp.setUpdateAt(pref.getUpdateAt());
-            return resp;
-        }).toList();
+        long mapStart = System.nanoTime();
+        List<PreferenceResponse> preferenceResponses = preferences.stream().map(PreferenceServiceImpl::toResponse).toList();
+        RequestTimings.record("map", System.nanoTime() - mapStart);
+        try {
+            emitter.send(SseEmitter.event().name("preferences").data(new PreferencePageResponse(preferenceResponses, page.nextCursor())));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return;
+        }
 
-        UserPreferenceAIResponse userPreferenceAIResponse = new UserPreferenceAIResponse();
-        userPreferenceAIResponse.setPreferences(preferenceResponses);
-        userPreferenceAIResponse.setAiRecommendations(recommendations);
+        recommendationService.getRecommendationsAsync(userId, preferences, (preferenceId, result) -> {
+            try {
+                emitter.send(SseEmitter.event().name("recommendation").data(new PreferenceRecommendationEvent(preferenceId, result)));
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        }).whenComplete((results, error) -> {
+            if (error != null) {
+                emitter.completeWithError(error);
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name("complete").data(results.size()));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        });
+    }
 
-        return userPreferenceAIResponse;
+    /**
+     * Loads one keyset page of the user's preferences, newest first, with both collections fetched.
+     * The cursor is the {@code (createAt, id)} of the last row of the previous page.
+     */
+    private PreferencePage findPage(Long userId, PreferenceFilter filter) {
+        PageIds page = findPageIds(userId, filter);
+        List<Long> ids = page.ids();
+        if (ids.isEmpty()) {
+            return new PreferencePage(List.of(), null);
+        }
+
+        Map<Long, Preference> byId = new HashMap<>();
+        preferenceRepository.findWithCategoriesByIdIn(ids).forEach(preference -> byId.put(preference.getId(), preference));
+        List<Preference> preferences = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        preferenceRepository.fetchLocations(preferences);
+
+        String nextCursor = null;
+        if (page.hasMore()) {
+            Preference last = preferences.get(preferences.size() - 1);
+            String raw = last.getCreateAt() + "_" + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return new PreferencePage(preferences, nextCursor);
+    }
+
+    private PageIds findPageIds(Long userId, PreferenceFilter filter) {
+        int size = filter.getSize() == null ? defaultPageSize : Math.max(1, Math.min(filter.getSize(), maxPageSize));
+        LocalDateTime cursorCreateAt = null;
+        Long cursorId = null;
+        if (filter.getCursor() != null) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(filter.getCursor()), StandardCharsets.UTF_8).split("_", 2);
+                cursorCreateAt = LocalDateTime.parse(parts[0]);
+                cursorId = Long.valueOf(parts[1]);
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        List<Long> ids = preferenceRepository.findPageIds(
+                userId,
+                cursorCreateAt,
+                cursorId,
+                filter.isUpcoming() ? LocalDate.now() : null,
+                filter.getCategory(),
+                filter.getLocation(),
+                PageRequest.of(0, size + 1)
+        );
+        boolean hasMore = ids.size() > size;
+        if (hasMore) {
+            ids = ids.subList(0, size);
+        }
+        return new PageIds(ids, hasMore);
+    }
+
+    // Null when the recommendations are not all precomputed, since that part of the response is not settled yet.
+    private static String eTag(Long userId, PreferenceFilter filter, PreferencePage page, List<LocalDateTime> recommendationVersions) {
+        if (recommendationVersions == null) {
+            return null;
+        }
+        List<Object> parts = new ArrayList<>(List.of(userId));
+        parts.add(page.nextCursor());
+        parts.add(filter.getCursor());
+        parts.add(filter.isUpcoming() ? LocalDate.now() : null);
+        parts.add(filter.getCategory());
+        parts.add(filter.getLocation());
+        List<Preference> preferences = page.preferences();
+        for (int i = 0; i < preferences.size(); i++) {
+            parts.add(preferences.get(i).getId());
+            parts.add(preferences.get(i).getUpdateAt());
+            parts.add(recommendationVersions.get(i));
+        }
+        return ETags.strong(parts.toArray());
+    }
+
+    public static PreferenceResponse toResponse(Preference pref) {
+        PreferenceResponse resp = new PreferenceResponse();
+        resp.setId(pref.getId());
+        resp.setCategories(pref.getCategories());
+        resp.setLocations(pref.getLocations());
+        resp.setStartDate(pref.getStartDate());
+        resp.setEndDate(pref.getEndDate());
+        resp.setMaxDistanceKm(pref.getMaxDistanceKm());
+        resp.setMaxBudget(pref.getMaxBudget());
+        resp.setCreateAt(pref.getCreateAt());
+        resp.setUpdateAt(pref.getUpdateAt());
+        return resp;
+    }
+
+    private record PreferencePage(List<Preference> preferences, String nextCursor) {
+    }
+
+    private record PageIds(List<Long> ids, boolean hasMore) {
     }
 }
@@ -0,0 +1,260 @@
+package com.sasmitha.lms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sasmitha.lms.cache.LruCache;
+import com.sasmitha.lms.client.AIResponseReader;
+import com.sasmitha.lms.dto.RecommendationPayload;
+import com.sasmitha.lms.dto.RecommendationResult;
+import com.sasmitha.lms.event.PreferenceSavedEvent;
+import com.sasmitha.lms.model.Preference;
+import com.sasmitha.lms.model.Recommendation;
+import com.sasmitha.lms.repository.PreferenceRepository;
+import com.sasmitha.lms.repository.RecommendationRepository;
+import com.sasmitha.lms.util.RecommendationStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputed recommendations. Saving a preference schedules a background job (after commit) that asks the
+ * AI service and stores the result in the {@code recommendations} table, stamped with the preference's
+ * {@code updateAt}. Reads serve stored results whose stamp still matches and only go to the AI service
+ * for preferences that are missing or stale, scheduling a recompute for those once the read has its answer.
+ * At most one recompute per preference is queued or running, and a preference version the AI service
+ * could not answer is not retried from reads until {@code recommendations.precompute.retry-after-ms} passes.
+ */
+@Service
+@Slf4j
+public class RecommendationServiceImpl {
+    private final RecommendationRepository recommendationRepository;
+    private final PreferenceRepository preferenceRepository;
+    private final AIServiceImpl aiService;
+    private final ObjectMapper objectMapper;
+    private final AIResponseReader responseReader;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    // Preference ID -> the preference version the AI service last answered UNAVAILABLE for.
+    private final LruCache<Long, LocalDateTime> unavailable;
+
+    public RecommendationServiceImpl(RecommendationRepository recommendationRepository,
+                                     PreferenceRepository preferenceRepository,
+                                     AIServiceImpl aiService,
+                                     ObjectMapper objectMapper,
+                                     AIResponseReader responseReader,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${recommendations.precompute.threads:2}") int threads,
+                                     @Value("${recommendations.precompute.queue-size:1000}") int queueSize,
+                                     @Value("${recommendations.precompute.retry-after-ms:60000}") long retryAfterMs) {
+        this.recommendationRepository = recommendationRepository;
+        this.preferenceRepository = preferenceRepository;
+        this.aiService = aiService;
+        this.objectMapper = objectMapper;
+        this.responseReader = responseReader;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.unavailable = new LruCache<>("precomputeUnavailable", queueSize, retryAfterMs);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "recommendation-precompute-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPreferenceSaved(PreferenceSavedEvent event) {
+        schedule(event.getPreferenceId(), event.getUserId());
+    }
+
+    public void schedule(Long preferenceId, Long userId) {
+        if (!inFlight.add(preferenceId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    recompute(preferenceId, userId);
+                } finally {
+                    inFlight.remove(preferenceId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(preferenceId);
+            log.warn("Precompute queue is full, preference {} will be computed on read", preferenceId);
+        }
+    }
+
+    public CompletableFuture<Map<Long, RecommendationResult>> getRecommendationsAsync(Long userId, List<Preference> preferences) {
+        return getRecommendationsAsync(userId, preferences, (preferenceId, result) -> {
+        });
+    }
+
+    public CompletableFuture<Map<Long, RecommendationResult>> getRecommendationsAsync(Long userId, List<Preference> preferences,
+                                                                                      BiConsumer<Long, RecommendationResult> listener) {
+        return getRecommendationsAsync(userId, preferences, findStored(preferences), listener);
+    }
+
+    /**
+     * Same as {@link #getRecommendationsAsync(Long, List, BiConsumer)} for recommendations the caller has
+     * already loaded with {@link #findStored(List)}.
+     */
+    public CompletableFuture<Map<Long, RecommendationResult>> getRecommendationsAsync(Long userId, List<Preference> preferences,
+                                                                                      Map<Long, Recommendation> stored,
+                                                                                      BiConsumer<Long, RecommendationResult> listener) {
+        List<Long> preferenceIds = preferences.stream().map(Preference::getId).toList();
+
+        Map<Long, RecommendationResult> precomputed = new HashMap<>();
+        List<Preference> missing = new ArrayList<>();
+        for (Preference preference : preferences) {
+            Recommendation recommendation = stored.get(preference.getId());
+            RecommendationPayload payload = isCurrent(recommendation, preference) ? readPayload(recommendation) : null;
+            if (payload != null) {
+                RecommendationResult result = new RecommendationResult(payload, RecommendationStatus.PRECOMPUTED);
+                precomputed.put(preference.getId(), result);
+                listener.accept(preference.getId(), result);
+            } else {
+                missing.add(preference);
+            }
+        }
+
+        CompletableFuture<Map<Long, RecommendationResult>> computed = missing.isEmpty()
+                ? CompletableFuture.completedFuture(Map.of())
+                : aiService.getRecommendationsAsync(userId, missing, listener);
+
+        return computed.thenApply(results -> {
+            // The AI results are in the recommendation cache by now, so the recompute jobs only persist them.
+            for (Preference preference : missing) {
+                RecommendationResult result = results.get(preference.getId());
+                if (result != null && result.getStatus() == RecommendationStatus.UNAVAILABLE) {
+                    unavailable.put(preference.getId(), preference.getUpdateAt());
+                } else if (!Objects.equals(unavailable.get(preference.getId(), id -> null), preference.getUpdateAt())) {
+                    schedule(preference.getId(), userId);
+                }
+            }
+            Map<Long, RecommendationResult> merged = new LinkedHashMap<>();
+            for (Long preferenceId : preferenceIds) {
+                merged.put(preferenceId, precomputed.containsKey(preferenceId) ? precomputed.get(preferenceId) : results.get(preferenceId));
+            }
+            return merged;
+        });
+    }
+
+    /**
+     * The stored recommendations of the given preferences, by preference ID.
+     */
+    public Map<Long, Recommendation> findStored(List<Preference> preferences) {
+        return recommendationRepository.findByPreferenceIdIn(preferences.stream().map(Preference::getId).toList()).stream()
+                .collect(Collectors.toMap(recommendation -> recommendation.getPreference().getId(), recommendation -> recommendation));
+    }
+
+    /**
+     * The {@code computedAt} of each preference's stored recommendation, in the given order, or {@code null}
+     * when any of them is missing or stale, i.e. when a read would have to go to the AI service.
+     */
+    public List<LocalDateTime> precomputedVersions(List<Preference> preferences, Map<Long, Recommendation> stored) {
+        List<LocalDateTime> versions = new ArrayList<>(preferences.size());
+        for (Preference preference : preferences) {
+            Recommendation recommendation = stored.get(preference.getId());
+            if (!isCurrent(recommendation, preference)) {
+                return null;
+            }
+            versions.add(recommendation.getComputedAt());
+        }
+        return versions;
+    }
+
+    void recompute(Long preferenceId, Long userId) {
+        PendingRecommendation pending = transactionTemplate.execute(status -> {
+            Preference preference = preferenceRepository.findById(preferenceId).orElse(null);
+            if (preference == null) {
+                return null;
+            }
+            Recommendation existing = recommendationRepository.findByPreferenceId(preferenceId).orElse(null);
+            if (isCurrent(existing, preference)) {
+                return null;
+            }
+            return new PendingRecommendation(preference.getUpdateAt(), aiService.getRecommendationsAsync(userId, List.of(preference)));
+        });
+        if (pending == null) {
+            return;
+        }
+
+        RecommendationResult result = pending.results().join().get(preferenceId);
+        if (result != null && result.getStatus() == RecommendationStatus.UNAVAILABLE) {
+            unavailable.put(preferenceId, pending.preferenceVersion());
+            return;
+        }
+        if (result == null || result.getRecommendations() == null
+                || result.getStatus() == RecommendationStatus.STALE) {
+            return;
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(result.getRecommendations());
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize recommendations for preference {}", preferenceId, e);
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Preference preference = preferenceRepository.findById(preferenceId).orElse(null);
+                if (preference == null || !Objects.equals(preference.getUpdateAt(), pending.preferenceVersion())) {
+                    return;
+                }
+                Recommendation recommendation = recommendationRepository.findByPreferenceId(preferenceId).orElseGet(Recommendation::new);
+                recommendation.setPreference(preference);
+                recommendation.setPayload(payload);
+                recommendation.setStatus(RecommendationStatus.PRECOMPUTED);
+                recommendation.setPreferenceVersion(pending.preferenceVersion());
+                recommendation.setComputedAt(LocalDateTime.now());
+                recommendationRepository.save(recommendation);
+            });
+            unavailable.evict(preferenceId);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Preference {} was precomputed concurrently", preferenceId);
+        }
+    }
+
+    private boolean isCurrent(Recommendation recommendation, Preference preference) {
+        return recommendation != null && Objects.equals(recommendation.getPreferenceVersion(), preference.getUpdateAt());
+    }
+
+    private RecommendationPayload readPayload(Recommendation recommendation) {
+        try {
+            return responseReader.read(recommendation.getPayload());
+        } catch (IOException e) {
+            log.warn("Discarding unreadable recommendation {}", recommendation.getId(), e);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdown();
+    }
+
+    private record PendingRecommendation(LocalDateTime preferenceVersion,
+                                         CompletableFuture<Map<Long, RecommendationResult>> results) {
+    }
+}
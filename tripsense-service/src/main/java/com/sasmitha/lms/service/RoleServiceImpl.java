@@ -1,10 +1,12 @@
 package com.sasmitha.lms.service;
 
+import com.sasmitha.lms.cache.EntityCache;
 import com.sasmitha.lms.dto.RoleRequest;
 import com.sasmitha.lms.model.Role;
 import com.sasmitha.lms.repository.RoleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
@@ -13,9 +15,12 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional
 public class RoleServiceImpl {
     private final RoleRepository roleRepository;
+    private final EntityCache entityCache;
 
+    @Transactional(readOnly = true)
     public Set<RoleRequest> findAll() {
         List<Role> rolesFromDatabase = roleRepository.findAll();
 
@@ -30,6 +35,7 @@ public class RoleServiceImpl {
         Role role = new Role();
         role.setName(roleRequest.getName());
         Role saved = roleRepository.save(role);
+        entityCache.evictRole(saved.getName());
         return new RoleRequest(saved.getId(), saved.getName());
     }
 }
@@ -0,0 +1,161 @@
+package com.sasmitha.lms.service;
+
+import com.sasmitha.lms.cache.EntityCache;
+import com.sasmitha.lms.config.JWTPrincipal;
+import com.sasmitha.lms.config.JWTUtil;
+import com.sasmitha.lms.config.TokenDenylist;
+import com.sasmitha.lms.model.RevokedToken;
+import com.sasmitha.lms.repository.RevokedTokenRepository;
+import com.sasmitha.lms.util.Emails;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token revocation. Revocations are stored in {@code revoked_tokens} and mirrored into the
+ * {@link TokenDenylist} that the authentication filter checks, so requests never hit the database for it.
+ * The denylist is loaded at startup and then picks up revocations made by other instances every
+ * {@code jwt.revocation.sync-interval-ms}; the same task forgets revocations whose tokens have expired.
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl {
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenDenylist tokenDenylist;
+    private final JWTUtil jwtUtil;
+    private final EntityCache entityCache;
+    private final long jwtExpirationMs;
+    private final long syncIntervalMs;
+    private final ScheduledExecutorService synchronizer;
+
+    private LocalDateTime lastSync;
+
+    public TokenRevocationServiceImpl(RevokedTokenRepository revokedTokenRepository,
+                                      TokenDenylist tokenDenylist,
+                                      JWTUtil jwtUtil,
+                                      EntityCache entityCache,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${jwt.expiration}") long jwtExpirationMs,
+                                      @Value("${jwt.revocation.sync-interval-ms:5000}") long syncIntervalMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenDenylist = tokenDenylist;
+        this.jwtUtil = jwtUtil;
+        this.entityCache = entityCache;
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.syncIntervalMs = syncIntervalMs;
+        this.synchronizer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("tripsense.auth.revocations", tokenDenylist, TokenDenylist::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        lastSync = LocalDateTime.now();
+        load(revokedTokenRepository.findByExpiresAtAfter(lastSync));
+        synchronizer.scheduleWithFixedDelay(this::sync, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Revokes the bearer token in {@code authorization} until it expires.
+     */
+    public void logout(String authorization) {
+        JWTPrincipal principal = authorization != null && authorization.startsWith("Bearer ")
+                ? jwtUtil.parseToken(authorization.substring(7))
+                : null;
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+        }
+        if (tokenDenylist.isRevoked(principal)) {
+            return;
+        }
+
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setTokenId(principal.getTokenId());
+        revokedToken.setEmail(principal.getEmail());
+        revokedToken.setExpiresAt(toLocalDateTime(principal.getExpiration().getTime()));
+        revokedToken.setRevokedAt(LocalDateTime.now());
+        try {
+            revokedTokenRepository.save(revokedToken);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Token {} was revoked concurrently", principal.getTokenId());
+        }
+        tokenDenylist.revoke(principal.getTokenId(), principal.getExpiration().getTime());
+    }
+
+    /**
+     * Revokes every token issued to {@code email} so far, e.g. after a password change.
+     */
+    public void revokeAll(String requestedEmail) {
+        String email = Emails.normalize(requestedEmail); // the form tokens are issued for
+        entityCache.findUserByEmail(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, email + " is not registered"));
+
+        LocalDateTime now = LocalDateTime.now();
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setEmail(email);
+        revokedToken.setIssuedBefore(now.truncatedTo(ChronoUnit.SECONDS));
+        revokedToken.setExpiresAt(now.plus(jwtExpirationMs, ChronoUnit.MILLIS));
+        revokedToken.setRevokedAt(now);
+        revokedTokenRepository.save(revokedToken);
+        apply(revokedToken);
+    }
+
+    void sync() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            // Overlap the previous window so rows committed late or stamped by a slightly skewed clock are not missed.
+            load(revokedTokenRepository.findByRevokedAtAfter(lastSync.minus(syncIntervalMs, ChronoUnit.MILLIS)));
+            lastSync = now;
+
+            tokenDenylist.purgeExpired();
+            revokedTokenRepository.deleteExpired(now);
+        } catch (RuntimeException e) {
+            log.warn("Token revocation sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void load(List<RevokedToken> revokedTokens) {
+        revokedTokens.forEach(this::apply);
+    }
+
+    private void apply(RevokedToken revokedToken) {
+        long expiresAtMs = toMillis(revokedToken.getExpiresAt());
+        if (revokedToken.getTokenId() != null) {
+            tokenDenylist.revoke(revokedToken.getTokenId(), expiresAtMs);
+        } else if (revokedToken.getEmail() != null && revokedToken.getIssuedBefore() != null) {
+            tokenDenylist.revokeIssuedBefore(revokedToken.getEmail(), toMillis(revokedToken.getIssuedBefore()), expiresAtMs);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    @PreDestroy
+    void close() {
+        synchronizer.shutdownNow();
+    }
+}
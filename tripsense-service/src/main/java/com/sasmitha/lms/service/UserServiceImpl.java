@@ -1,16 +1,17 @@
 package com.sasmitha.lms.service;
 
+import com.sasmitha.lms.cache.EntityCache;
 import com.sasmitha.lms.dto.RegisterResponse;
 import com.sasmitha.lms.dto.UserDetailResponse;
 import com.sasmitha.lms.dto.UserRegisterRequest;
-import com.sasmitha.lms.model.Role;
 import com.sasmitha.lms.model.User;
 import com.sasmitha.lms.repository.AdminRepository;
-import com.sasmitha.lms.repository.RoleRepository;
-import jakarta.transaction.Transactional;
+import com.sasmitha.lms.util.ETags;
+import com.sasmitha.lms.util.Emails;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -19,37 +20,41 @@ import java.util.Optional;
 @Transactional
 public class UserServiceImpl {
     private final AdminRepository adminRepository;
-    private final RoleRepository roleRepository;
+    private final EntityCache entityCache;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
 
     public RegisterResponse create(UserRegisterRequest userRegisterRequest) {
-        if (adminRepository.findByEmail(userRegisterRequest.getEmail()).isPresent()) {
-            throw new RuntimeException(userRegisterRequest.getEmail() + " is already registered");
+        String email = Emails.normalize(userRegisterRequest.getEmail());
+        if (entityCache.findUserByEmail(email).isPresent()) {
+            throw new RuntimeException(email + " is already registered");
         }
 
-        Role roleFromDB = roleRepository.findByName("USER")
+        EntityCache.CachedRole roleFromDB = entityCache.findRoleByName("USER")
                 .orElseThrow(() -> new RuntimeException(userRegisterRequest.getRole() + " Role not found"));
 
         User user = new User();
-        user.setRole(roleFromDB);
+        user.setRole(entityCache.roleReference(roleFromDB));
         user.setFirstName(userRegisterRequest.getFirstName());
         user.setLastName(userRegisterRequest.getLastName());
-        user.setEmail(userRegisterRequest.getEmail());
+        user.setEmail(email);
         user.setPassword(bCryptPasswordEncoder.encode(userRegisterRequest.getPassword()));
         adminRepository.save(user);
+        entityCache.evictUser(email);
 
         return new RegisterResponse(
                 user.getEmail(),
-                roleFromDB.getName()
+                roleFromDB.name()
         );
     }
 
+    @Transactional(readOnly = true)
     public UserDetailResponse getByEmail(String email) {
         if (email == null) {
             throw new RuntimeException(email + " is null");
         }
 
-        Optional<User> user = adminRepository.findByEmail(email);
+        // Read the row rather than the entity cache so the body and its ETag reflect writes from other instances
+        Optional<User> user = adminRepository.findByEmail(Emails.normalize(email));
 
         if (user.isEmpty()) {
             throw new RuntimeException(email + " is not registered");
@@ -62,5 +67,12 @@ public class UserServiceImpl {
         userDetailResponse.setEmail(user.get().getEmail());
         return userDetailResponse;
     }
+
+    /**
+     * Strong ETag over the fields {@link #getByEmail} returns.
+     */
+    public String getETag(UserDetailResponse user) {
+        return ETags.strong(user.getUserId(), user.getFirstName(), user.getLastName(), user.getEmail());
+    }
 }
 
@@ -1,41 +1,91 @@
 package com.sasmitha.lms.setup;
 
+import com.sasmitha.lms.cache.EntityCache;
 import com.sasmitha.lms.model.Role;
 import com.sasmitha.lms.model.User;
 import com.sasmitha.lms.repository.AdminRepository;
 import com.sasmitha.lms.repository.RoleRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Seeds the system admin once per process, after the application is ready rather than on every context
+ * refresh. With {@code setup.admin.async} the seeding (a lookup and, on first boot, a BCrypt encode) runs
+ * on a background thread so it stays off the startup path.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class OnApplicationStartUp {
     private final RoleRepository roleRepository;
     private final AdminRepository adminRepository;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final EntityCache entityCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean async;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    public OnApplicationStartUp(RoleRepository roleRepository,
+                                AdminRepository adminRepository,
+                                BCryptPasswordEncoder bCryptPasswordEncoder,
+                                EntityCache entityCache,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${setup.admin.enabled:true}") boolean enabled,
+                                @Value("${setup.admin.async:false}") boolean async) {
+        this.roleRepository = roleRepository;
+        this.adminRepository = adminRepository;
+        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.entityCache = entityCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.async = async;
+    }
 
-    @EventListener
-    @Transactional
-    public void onApplicationStartUp(ContextRefreshedEvent contextRefreshedEvent) {
-        if (roleRepository.findByName("SYSTEM_ADMIN").isPresent()) {
-            log.info("Admin has been found");
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationStartUp() {
+        if (!enabled || !started.compareAndSet(false, true)) {
+            return;
+        }
+        if (async) {
+            Thread.ofPlatform().name("admin-seed").daemon().start(this::seedAdmin);
         } else {
-            Role role = new Role();
-            role.setName("SYSTEM_ADMIN");
-            roleRepository.save(role);
-            User user = new User();
-            user.setRole(role);
-            user.setFirstName("Sasmitha Hiram");
-            user.setLastName("Mendis");
-            user.setEmail("sasmithahiram2003@gmail.com");
-            user.setPassword(bCryptPasswordEncoder.encode("123"));
-            adminRepository.save(user);
+            seedAdmin();
+        }
+    }
+
+    private void seedAdmin() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (roleRepository.findByName("SYSTEM_ADMIN").isPresent()) {
+                    log.info("Admin has been found");
+                    return;
+                }
+                Role role = new Role();
+                role.setName("SYSTEM_ADMIN");
+                roleRepository.save(role);
+                User user = new User();
+                user.setRole(role);
+                user.setFirstName("Sasmitha Hiram");
+                user.setLastName("Mendis");
+                user.setEmail("sasmithahiram2003@gmail.com");
+                user.setPassword(bCryptPasswordEncoder.encode("123"));
+                adminRepository.save(user);
+                entityCache.evictRole(role.getName());
+                entityCache.evictUser(user.getEmail());
+            });
+        } catch (RuntimeException e) {
+            log.error("Seeding the system admin failed", e);
+            if (!async) {
+                throw e;
+            }
         }
     }
 }
@@ -0,0 +1,27 @@
+package com.sasmitha.lms.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Strong entity tags derived from the values a response is built from, so equal inputs give equal tags.
+ */
+public final class ETags {
+    private ETags() {
+    }
+
+    public static String strong(Object... parts) {
+        StringBuilder normalized = new StringBuilder();
+        for (Object part : parts) {
+            normalized.append(part).append('|');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
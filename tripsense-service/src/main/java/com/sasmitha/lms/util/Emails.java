@@ -0,0 +1,16 @@
+package com.sasmitha.lms.util;
+
+import java.util.Locale;
+
+/**
+ * The single form in which emails are stored, cached and looked up, so registration, login and bulk import
+ * agree on which addresses are the same account.
+ */
+public final class Emails {
+    private Emails() {
+    }
+
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,9 @@
+package com.sasmitha.lms.util;
+
+public enum RecommendationStatus {
+    FRESH,
+    PRECOMPUTED,
+    CACHED,
+    STALE,
+    UNAVAILABLE
+}
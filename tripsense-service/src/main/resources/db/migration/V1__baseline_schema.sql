@@ -0,0 +1,65 @@
+-- Schema as previously generated by ddl-auto: update. Existing databases are baselined at this
+-- version (spring.flyway.baseline-on-migrate) and only receive the later migrations.
+
+create table role (
+    id   bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+);
+
+create table users (
+    id         bigint not null auto_increment,
+    role_id    bigint,
+    first_name varchar(255),
+    last_name  varchar(255),
+    email      varchar(255),
+    password   varchar(255),
+    create_at  datetime(6),
+    update_at  datetime(6),
+    primary key (id),
+    constraint fk_users_role foreign key (role_id) references role (id)
+);
+
+create table preferences (
+    id              bigint not null auto_increment,
+    user_id         bigint not null,
+    start_date      date,
+    end_date        date,
+    max_distance_km integer,
+    max_budget      double,
+    create_at       datetime(6),
+    update_at       datetime(6),
+    primary key (id),
+    constraint fk_preferences_user foreign key (user_id) references users (id)
+);
+
+create index idx_preferences_user_created on preferences (user_id, create_at, id);
+create index idx_preferences_user_start on preferences (user_id, start_date);
+
+create table preference_categories (
+    preference_id bigint not null,
+    category      varchar(255),
+    constraint fk_preference_categories_preference foreign key (preference_id) references preferences (id)
+);
+
+create index idx_preference_categories on preference_categories (preference_id, category);
+
+create table preference_locations (
+    preference_id bigint not null,
+    location      varchar(255),
+    constraint fk_preference_locations_preference foreign key (preference_id) references preferences (id)
+);
+
+create index idx_preference_locations on preference_locations (preference_id, location);
+
+create table recommendations (
+    id                 bigint not null auto_increment,
+    preference_id      bigint not null,
+    payload            longtext,
+    status             enum ('FRESH','PRECOMPUTED','CACHED','STALE','UNAVAILABLE'),
+    preference_version datetime(6),
+    computed_at        datetime(6),
+    primary key (id),
+    constraint uk_recommendations_preference unique (preference_id),
+    constraint fk_recommendations_preference foreign key (preference_id) references preferences (id) on delete cascade
+);
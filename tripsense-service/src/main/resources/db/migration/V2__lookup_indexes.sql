@@ -0,0 +1,13 @@
+-- Indexes for the repository finders that ddl-auto never created.
+-- Fails if users.email or role.name already contain duplicates; resolve those by hand first:
+--   select email, count(*) from users group by email having count(*) > 1;
+--   select name, count(*) from role group by name having count(*) > 1;
+
+-- AdminRepository.findByEmail / findWithRoleByEmail, the registration check and the bulk import's email lookup
+create unique index uk_users_email on users (email);
+
+-- RoleRepository.findByName
+create unique index uk_role_name on role (name);
+
+-- A varchar instead of a native enum, so adding a RecommendationStatus value needs no migration
+alter table recommendations modify column status varchar(20);
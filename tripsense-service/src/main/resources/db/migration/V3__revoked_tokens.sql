@@ -0,0 +1,18 @@
+-- JWT revocations. A row revokes either one token (token_id = its jti) or every token of email issued
+-- up to issued_before. Rows are deleted once expires_at passes, when the tokens they cover have expired.
+create table revoked_tokens (
+    id            bigint      not null auto_increment,
+    token_id      varchar(64),
+    email         varchar(255),
+    issued_before datetime(6),
+    expires_at    datetime(6) not null,
+    revoked_at    datetime(6) not null,
+    primary key (id),
+    constraint uk_revoked_tokens_token_id unique (token_id)
+);
+
+-- Startup load and expiry purge
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
+
+-- Incremental sync between instances
+create index idx_revoked_tokens_revoked_at on revoked_tokens (revoked_at);
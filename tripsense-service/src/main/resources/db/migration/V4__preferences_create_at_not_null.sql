@@ -0,0 +1,5 @@
+-- Preference pages are keyset pages over (create_at, id); a null create_at fails the cursor predicate, so such a
+-- row never appeared after the first page. Rows written before create_at was set take their last update time.
+update preferences set create_at = coalesce(update_at, current_timestamp(6)) where create_at is null;
+
+alter table preferences modify column create_at datetime(6) not null;
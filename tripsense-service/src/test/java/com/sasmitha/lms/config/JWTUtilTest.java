@@ -0,0 +1,36 @@
+package com.sasmitha.lms.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JWTUtilTest {
+    private static final String SECRET = "b4k9yZs2gM7jVq8P5nLdH1QvR+F0xZpWq3B9jH8eF2yK0sT1mNcA5vLq7bD4gH6jhgggggggggggggfhhdddff44rrdd";
+
+    @Test
+    void keepsCachingNewTokensWhenFullOfLiveOnes() {
+        JWTUtil jwtUtil = new JWTUtil(SECRET, 60_000, 3);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tokens.add(jwtUtil.generateToken("user-" + i + "@tripsense.test", "USER"));
+        }
+
+        for (int i = 0; i < tokens.size(); i++) {
+            assertThat(jwtUtil.verifyToken(tokens.get(i)).getEmail()).isEqualTo("user-" + i + "@tripsense.test");
+            assertThat(jwtUtil.cacheSize()).isLessThanOrEqualTo(3);
+        }
+        // Evicted tokens are verified again from their signature.
+        assertThat(jwtUtil.parseToken(tokens.get(0))).isNotNull();
+    }
+
+    @Test
+    void refusesATamperedToken() {
+        JWTUtil jwtUtil = new JWTUtil(SECRET, 60_000, 3);
+        String token = jwtUtil.generateToken("user@tripsense.test", "USER");
+
+        assertThat(jwtUtil.parseToken(token.substring(0, token.length() - 2) + "xx")).isNull();
+    }
+}
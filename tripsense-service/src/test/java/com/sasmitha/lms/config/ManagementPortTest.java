@@ -0,0 +1,39 @@
+package com.sasmitha.lms.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The Prometheus scrape endpoint is unauthenticated, so it must only be served on the management port.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false) // tests disable metrics export, and with it the prometheus endpoint
+class ManagementPortTest {
+    @LocalServerPort
+    private int port;
+    @LocalManagementPort
+    private int managementPort;
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void servesPrometheusOnlyOnTheManagementPort() {
+        ResponseEntity<String> management = restTemplate.getForEntity("http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+        assertThat(management.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(management.getBody()).contains("jvm_memory_used_bytes");
+
+        ResponseEntity<String> api = restTemplate.getForEntity("http://localhost:" + port + "/api/v1/actuator/prometheus", String.class);
+        assertThat(api.getStatusCode()).isNotEqualTo(HttpStatus.OK);
+    }
+}
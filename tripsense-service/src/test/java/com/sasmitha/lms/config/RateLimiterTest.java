@@ -0,0 +1,31 @@
+package com.sasmitha.lms.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    @Test
+    void allowsABurstOfCapacityThenAsksTheClientToWait() {
+        RateLimiter limiter = new RateLimiter(3, 1, 10);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("ip:1")).isZero();
+        }
+        assertThat(limiter.tryAcquire("ip:1")).isPositive();
+        assertThat(limiter.tryAcquire("ip:2")).isZero();
+    }
+
+    @Test
+    void keysBeyondMaxKeysShareOneOverflowBucket() {
+        RateLimiter limiter = new RateLimiter(2, 1, 1);
+        assertThat(limiter.tryAcquire("ip:tracked")).isZero();
+
+        // Every untracked key draws from the same bucket, so rotating keys does not reset the limit.
+        assertThat(limiter.tryAcquire("ip:new-1")).isZero();
+        assertThat(limiter.tryAcquire("ip:new-2")).isZero();
+        assertThat(limiter.tryAcquire("ip:new-3")).isPositive();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+}
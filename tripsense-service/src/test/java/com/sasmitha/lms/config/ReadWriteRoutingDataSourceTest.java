@@ -0,0 +1,143 @@
+package com.sasmitha.lms.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Routing between two in-memory H2 databases standing in for the primary and the replica. Each holds a
+ * {@code node} row naming itself, so a query shows which database served it.
+ */
+class ReadWriteRoutingDataSourceTest {
+    private static final long CHECK_INTERVAL_MS = 50;
+
+    private SwitchableDataSource replica;
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        replica = new SwitchableDataSource(database("replica"));
+        new JdbcTemplate(replica).execute("create table replica_lag (seconds bigint)");
+        new JdbcTemplate(replica).update("insert into replica_lag values (0)");
+
+        routing = new ReadWriteRoutingDataSource(primary, replica, "select seconds from replica_lag", 5, CHECK_INTERVAL_MS);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        String served = readOnly.execute(status -> node());
+        assertThat(served).isEqualTo("replica");
+    }
+
+    @Test
+    void writesAndNonTransactionalWorkGoToThePrimary() {
+        String written = readWrite.execute(status -> {
+            jdbcTemplate.update("insert into node (name) values ('written')");
+            return node();
+        });
+        assertThat(written).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+        Integer rows = readWrite.execute(status -> jdbcTemplate.queryForObject("select count(*) from node where name = 'written'", Integer.class));
+        assertThat(rows).isEqualTo(1);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaIsDownAndReturnAfterRecovery() {
+        replica.down = true;
+        String fallback = readOnly.execute(status -> node());
+        assertThat(fallback).isEqualTo("primary");
+        assertThat(routing.isReplicaHealthy()).isFalse();
+
+        replica.down = false;
+        await().atMost(Duration.ofSeconds(5)).until(routing::isReplicaHealthy);
+        String recovered = readOnly.execute(status -> node());
+        assertThat(recovered).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaLags() {
+        new JdbcTemplate(replica).update("update replica_lag set seconds = 60");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> !routing.isReplicaHealthy());
+        String served = readOnly.execute(status -> node());
+        assertThat(served).isEqualTo("primary");
+    }
+
+    @Test
+    void routingNeedsTheLazyProxyToSeeTheReadOnlyFlag() {
+        // Without the proxy the transaction manager fetches the connection before it publishes the
+        // read-only flag, so even read-only transactions land on the primary.
+        TransactionTemplate unproxied = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        unproxied.setReadOnly(true);
+        JdbcTemplate unproxiedJdbc = new JdbcTemplate(routing);
+
+        String served = unproxied.execute(status -> unproxiedJdbc.queryForObject("select name from node where id = 1", String.class));
+        assertThat(served).isEqualTo("primary");
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node where id = 1", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (id bigint auto_increment primary key, name varchar(20))");
+        jdbc.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+
+    private static class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("replica is down");
+            }
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            if (down) {
+                throw new SQLException("replica is down");
+            }
+            return super.getConnection(username, password);
+        }
+    }
+}
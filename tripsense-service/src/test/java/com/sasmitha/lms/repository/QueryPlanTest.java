@@ -0,0 +1,237 @@
+package com.sasmitha.lms.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every repository finder must be served by an index. Each finder runs through Spring Data and Hibernate,
+ * the statements it sends are recorded with their bound parameters, and {@code EXPLAIN} is run on exactly
+ * that SQL against H2 in MySQL mode, migrated by the production Flyway scripts.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// The rows are loaded once for the class; ANALYZE commits, so they could not be rolled back anyway.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+    private static final StatementRecorder RECORDER = new StatementRecorder();
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 0, 0);
+    private static final int USERS = 500;
+    private static final int PREFERENCES_PER_USER = 5;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private AdminRepository adminRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private PreferenceRepository preferenceRepository;
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @TestConfiguration
+    static class RecordingConfig {
+        @Bean
+        static BeanPostProcessor statementRecorder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? RECORDER.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeAll
+    void load() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into role (name) values ('SYSTEM_ADMIN'), ('USER')");
+        Timestamp now = Timestamp.valueOf(NOW);
+        jdbc.batchUpdate("insert into users (role_id, first_name, last_name, email, password, create_at, update_at) values (2, 'Plan', 'Test', ?, 'x', ?, ?)",
+                IntStream.rangeClosed(1, USERS).mapToObj(i -> new Object[]{"user-" + i + "@tripsense.test", now, now}).toList());
+        List<Object[]> preferences = new ArrayList<>();
+        for (long user = 1; user <= USERS; user++) {
+            for (int i = 0; i < PREFERENCES_PER_USER; i++) {
+                Timestamp createAt = Timestamp.valueOf(NOW.minusHours(i));
+                preferences.add(new Object[]{user, createAt, createAt});
+            }
+        }
+        jdbc.batchUpdate("insert into preferences (user_id, start_date, end_date, create_at, update_at) values (?, current_date, current_date, ?, ?)", preferences);
+        jdbc.update("insert into preference_categories (preference_id, category) select id, 'Beach' from preferences");
+        jdbc.update("insert into preference_locations (preference_id, location) select id, 'Galle' from preferences");
+        jdbc.update("insert into recommendations (preference_id, payload, status) select id, '{}', 'PRECOMPUTED' from preferences");
+        // expires_at spreads into the future and revoked_at into the past, one minute per row
+        jdbc.update("insert into revoked_tokens (token_id, email, expires_at, revoked_at) select concat('token-', id), 'user@tripsense.test', "
+                + "dateadd('MINUTE', id, timestamp '2025-06-01 00:00:00'), dateadd('MINUTE', -id, timestamp '2025-06-01 00:00:00') from preferences");
+        jdbc.execute("analyze");
+    }
+
+    @Test
+    void userFindersUseAnIndex() {
+        assertIndexed(() -> adminRepository.findByEmail("user-42@tripsense.test"));
+        assertIndexed(() -> adminRepository.findWithRoleByEmail("user-42@tripsense.test"));
+        assertIndexed(() -> adminRepository.updatePassword(42L, "y", "z"));
+        assertIndexed(() -> roleRepository.findByName("USER"));
+    }
+
+    @Test
+    void preferenceFindersUseAnIndex() {
+        assertIndexed(() -> preferenceRepository.findByUserId(42L));
+        assertIndexed(() -> preferenceRepository.findPageIds(42L, null, null, null, null, null, PageRequest.of(0, 21)));
+        // every optional predicate set, including both member-of subqueries
+        assertIndexed(() -> preferenceRepository.findPageIds(42L, NOW, 1000L, LocalDate.now().minusDays(1), "Beach", "Galle", PageRequest.of(0, 21)));
+        assertIndexed(() -> preferenceRepository.fetchLocations(preferenceRepository.findWithCategoriesByIdIn(List.of(10L, 11L, 12L))));
+    }
+
+    @Test
+    void recommendationFindersUseAnIndex() {
+        assertIndexed(() -> recommendationRepository.findByPreferenceId(10L));
+        assertIndexed(() -> recommendationRepository.findByPreferenceIdIn(List.of(10L, 11L, 12L)));
+    }
+
+    @Test
+    void revokedTokenFindersUseAnIndex() {
+        assertIndexed(() -> revokedTokenRepository.findByExpiresAtAfter(NOW.plusMinutes(2400)));
+        assertIndexed(() -> revokedTokenRepository.findByRevokedAtAfter(NOW.minusMinutes(5)));
+        assertIndexed(() -> revokedTokenRepository.deleteExpired(NOW.minusDays(1)));
+    }
+
+    private void assertIndexed(Runnable finder) {
+        RECORDER.clear();
+        finder.run();
+        List<RecordedStatement> statements = RECORDER.statements();
+        assertThat(statements).as("recorded statements").isNotEmpty();
+        for (RecordedStatement statement : statements) {
+            assertThat(RECORDER.explain(statement).toLowerCase()).as(statement.sql()).doesNotContain("tablescan");
+        }
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+
+    private record RecordedStatement(String sql, List<Binding> bindings) {
+    }
+
+    /**
+     * Wraps the application DataSource and records every executed prepared statement with the setter
+     * calls that bound its parameters, so {@code EXPLAIN} can be run with the same values.
+     */
+    private static class StatementRecorder {
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+        private volatile DataSource target;
+
+        DataSource wrap(DataSource dataSource) {
+            target = dataSource;
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return connection(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return connection(super.getConnection(username, password));
+                }
+            };
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        List<RecordedStatement> statements() {
+            return List.copyOf(statements);
+        }
+
+        String explain(RecordedStatement recorded) {
+            try (Connection connection = target.getConnection();
+                 PreparedStatement explain = connection.prepareStatement("explain " + recorded.sql())) {
+                for (Binding binding : recorded.bindings()) {
+                    binding.method().invoke(explain, binding.args());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } catch (SQLException | ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not explain " + recorded.sql(), e);
+            }
+        }
+
+        private Connection connection(Connection connection) {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    return statement(statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement statement(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bindings.add(new Binding(method, args.clone()));
+                } else if (name.equals("clearParameters")) {
+                    bindings.clear();
+                } else if (name.startsWith("execute") && !sql.regionMatches(true, 0, "insert", 0, 6)) {
+                    statements.add(new RecordedStatement(sql, List.copyOf(bindings)));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
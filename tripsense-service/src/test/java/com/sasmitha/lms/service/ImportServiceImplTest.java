@@ -0,0 +1,106 @@
+package com.sasmitha.lms.service;
+
+import com.sasmitha.lms.cache.EntityCache;
+import com.sasmitha.lms.dto.ImportErrorResponse;
+import com.sasmitha.lms.dto.ImportResultResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+@Import({ImportServiceImpl.class, ImportServiceImplTest.Encoder.class})
+// Each chunk commits its own transaction, so the test must not wrap the import in one.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImportServiceImplTest {
+    @Autowired
+    private ImportServiceImpl importService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EntityCache entityCache;
+
+    private String domain;
+
+    @TestConfiguration
+    static class Encoder {
+        @Bean
+        BCryptPasswordEncoder bCryptPasswordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into role (name) select 'USER' from dual where not exists (select 1 from role where name = 'USER')");
+        Long roleId = jdbcTemplate.queryForObject("select id from role where name = 'USER'", Long.class);
+        when(entityCache.findRoleByName("USER")).thenReturn(Optional.of(new EntityCache.CachedRole(roleId, "USER")));
+        domain = "@" + UUID.randomUUID() + ".test";
+    }
+
+    @Test
+    void treatsEmailsThatDifferOnlyInCaseAsDuplicates() throws IOException {
+        jdbcTemplate.update("insert into users (role_id, email, password) values (null, ?, 'x')", "Registered" + domain);
+
+        ImportResultResponse result = importUsers(
+                user("Ann" + domain, "Ann"),
+                user(" ann" + domain.toUpperCase() + " ", "Ann again"),
+                user("registered" + domain, "Late"));
+
+        assertThat(result.getUsersImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(ImportErrorResponse::getLine).containsExactly(2L, 3L);
+        assertThat(jdbcTemplate.queryForList("select email from users where email like ?", String.class, "%" + domain))
+                .containsExactlyInAnyOrder("Registered" + domain, "ann" + domain);
+    }
+
+    @Test
+    void attributesAFailedInsertToItsLine() throws IOException {
+        ImportResultResponse result = importUsers(
+                user("first" + domain, "First"),
+                user("second" + domain, "x".repeat(300)), // longer than users.first_name
+                user("third" + domain, "Third"));
+
+        assertThat(result.getUsersImported()).isEqualTo(2);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(2);
+            assertThat(error.getEmail()).isEqualTo("second" + domain);
+        });
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users where email like ?", Integer.class, "%" + domain))
+                .isEqualTo(2);
+    }
+
+    private ImportResultResponse importUsers(String... lines) throws IOException {
+        byte[] body = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return importService.importUsers(new ByteArrayInputStream(body));
+    }
+
+    private static String user(String email, String firstName) {
+        return "{\"email\":\"" + email + "\",\"password\":\"secret\",\"firstName\":\"" + firstName + "\"}";
+    }
+}
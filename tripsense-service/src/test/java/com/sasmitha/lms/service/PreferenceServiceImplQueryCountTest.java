@@ -0,0 +1,136 @@
+package com.sasmitha.lms.service;
+
+import com.sasmitha.lms.cache.EntityCache;
+import com.sasmitha.lms.cache.RecommendationCache;
+import com.sasmitha.lms.dto.PreferenceFilter;
+import com.sasmitha.lms.dto.RecommendationResult;
+import com.sasmitha.lms.dto.UserPreferenceAIResponse;
+import com.sasmitha.lms.model.Preference;
+import com.sasmitha.lms.model.User;
+import com.sasmitha.lms.repository.AdminRepository;
+import com.sasmitha.lms.repository.PreferenceRepository;
+import com.sasmitha.lms.util.RecommendationStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@code getByUserId} must load a page of preferences and both element collections in a fixed number of
+ * statements, however many preferences are on the page. Recommendations are stubbed; they have their own
+ * repository and are not part of the preference page.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(PreferenceServiceImpl.class)
+// getByUserId suspends any caller transaction, so the fixtures have to be committed.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PreferenceServiceImplQueryCountTest {
+    @Autowired
+    private PreferenceServiceImpl preferenceService;
+    @Autowired
+    private AdminRepository adminRepository;
+    @Autowired
+    private PreferenceRepository preferenceRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private EntityCache entityCache;
+    @MockitoBean
+    private RecommendationServiceImpl recommendationService;
+    @MockitoBean
+    private RecommendationCache recommendationCache;
+
+    @BeforeEach
+    void stubRecommendations() {
+        when(recommendationService.getRecommendationsAsync(anyLong(), anyList(), anyMap(), any())).thenAnswer(invocation -> {
+            List<Preference> preferences = invocation.getArgument(1);
+            Map<Long, RecommendationResult> results = new LinkedHashMap<>();
+            preferences.forEach(preference -> results.put(preference.getId(), new RecommendationResult(null, RecommendationStatus.PRECOMPUTED)));
+            return CompletableFuture.completedFuture(results);
+        });
+        when(recommendationService.precomputedVersions(anyList(), anyMap())).thenReturn(null);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20})
+    void loadsAPageInThreeStatements(int preferenceCount) {
+        Long userId = createUserWithPreferences(preferenceCount);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        UserPreferenceAIResponse response = preferenceService.getByUserId(userId, new PreferenceFilter());
+
+        assertThat(response.getPreferences()).hasSize(preferenceCount).allSatisfy(preference -> {
+            assertThat(preference.getCategories()).containsExactlyInAnyOrder("Beach", "Nature");
+            assertThat(preference.getLocations()).containsExactlyInAnyOrder("Galle", "Ella");
+        });
+        // findPageIds, findWithCategoriesByIdIn and fetchLocations
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void stopsAtTheETagWhenTheClientIsUpToDate() {
+        Long userId = createUserWithPreferences(5);
+        List<LocalDateTime> versions = new ArrayList<>(Collections.nCopies(5, LocalDateTime.of(2025, 6, 1, 0, 0)));
+        when(recommendationService.precomputedVersions(anyList(), anyMap())).thenReturn(versions);
+        List<String> offered = new ArrayList<>();
+
+        UserPreferenceAIResponse response = preferenceService.getByUserId(userId, new PreferenceFilter(), eTag -> offered.add(eTag));
+
+        assertThat(response).isNull();
+        assertThat(offered).singleElement().asString().startsWith("\"");
+        verify(recommendationService, never()).getRecommendationsAsync(anyLong(), anyList(), anyMap(), any());
+    }
+
+    private Long createUserWithPreferences(int count) {
+        User user = new User();
+        user.setEmail("user-" + UUID.randomUUID() + "@tripsense.test");
+        adminRepository.save(user);
+
+        List<Preference> preferences = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Preference preference = new Preference();
+            preference.setUser(user);
+            preference.setCategories(new ArrayList<>(List.of("Beach", "Nature")));
+            preference.setLocations(new ArrayList<>(List.of("Galle", "Ella")));
+            preference.setStartDate(LocalDate.now().plusDays(i));
+            preference.setEndDate(LocalDate.now().plusDays(i + 3));
+            preferences.add(preference);
+        }
+        preferenceRepository.saveAll(preferences);
+        return user.getId();
+    }
+}
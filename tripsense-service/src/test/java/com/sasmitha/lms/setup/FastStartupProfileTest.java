@@ -0,0 +1,91 @@
+package com.sasmitha.lms.setup;
+
+import com.sasmitha.lms.repository.AdminRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Boots the full application with the {@code fast-startup} profile and holds the admin seeding at its
+ * BCrypt encode. The context can only finish starting if seeding runs off the ready path; if it ran
+ * inline, the gate would time out and fail the startup. The time to ready is checked against a budget
+ * loose enough for shared CI machines, so it catches work creeping back onto the startup path rather
+ * than small regressions.
+ */
+@SpringBootTest(properties = "setup.admin.enabled=true")
+@ActiveProfiles({"test", "fast-startup"})
+class FastStartupProfileTest {
+    private static final String ADMIN_EMAIL = "sasmithahiram2003@gmail.com";
+    private static final Duration READY_BUDGET = Duration.ofSeconds(60);
+    private static final AtomicReference<Duration> READY_TIME = new AtomicReference<>();
+
+    @TestBean(name = "passwordEncoder", methodName = "gatedPasswordEncoder")
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    static BCryptPasswordEncoder gatedPasswordEncoder() {
+        return new GatedPasswordEncoder();
+    }
+
+    @Test
+    void seedsTheAdminAfterTheApplicationIsReady() throws InterruptedException {
+        assertThat(GatedPasswordEncoder.ENTERED.await(10, TimeUnit.SECONDS)).as("seeding started").isTrue();
+        assertThat(adminRepository.findByEmail(ADMIN_EMAIL)).isEmpty();
+
+        GatedPasswordEncoder.RELEASE.countDown();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> adminRepository.findByEmail(ADMIN_EMAIL).isPresent());
+    }
+
+    @Test
+    void becomesReadyWithinTheStartupBudget() {
+        assertThat(READY_TIME.get()).as("time to ready").isNotNull().isLessThan(READY_BUDGET);
+    }
+
+    @TestConfiguration
+    static class ReadyTimeRecorder {
+        @EventListener
+        void onReady(ApplicationReadyEvent event) {
+            READY_TIME.set(event.getTimeTaken());
+        }
+    }
+
+    private static class GatedPasswordEncoder extends BCryptPasswordEncoder {
+        static final CountDownLatch ENTERED = new CountDownLatch(1);
+        static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+        GatedPasswordEncoder() {
+            super(4);
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            ENTERED.countDown();
+            try {
+                if (!RELEASE.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Admin seeding was not released; it blocked startup");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return super.encode(rawPassword);
+        }
+    }
+}